@@ -0,0 +1,121 @@
+package com.flight.data.management.benchmark;
+
+import com.flight.data.management.FlightDataManagementApplication;
+import com.flight.data.management.model.entity.EpochMicrosConverter;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.service.client.CrazySupplierFlightResponse;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared setup for benchmarks: boots the application against H2, fills the FLIGHT table with generated rows and
+ * builds the same flights in memory for the benchmarks that do not need a database.
+ */
+public final class BenchmarkData {
+
+    public static final String[] AIRPORTS = {"AMS", "MAA", "CDG", "FCO", "BCN", "LHR", "FRA", "MAD"};
+
+    public static final String[] AIRLINES = {"KLM", "Air France", "EasyJet", "Transavia", "Lufthansa"};
+
+    public static final Instant FIRST_DEPARTURE = Instant.parse("2025-04-07T06:00:00.123456Z");
+
+    private static final EpochMicrosConverter EPOCH_MICROS = new EpochMicrosConverter();
+
+    private BenchmarkData() {
+    }
+
+    public static ConfigurableApplicationContext startApplication(final String... properties) {
+        return new SpringApplicationBuilder(FlightDataManagementApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Inserts flights spread round-robin over every route, one departure every 10 minutes.
+     */
+    public static void insertFlights(final JdbcTemplate jdbcTemplate, final int rows) {
+        final Long now = EPOCH_MICROS.convertToDatabaseColumn(Instant.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Instant departureTime = FIRST_DEPARTURE.plus(Duration.ofMinutes(10L * i));
+            batch.add(new Object[]{
+                    AIRLINES[i % AIRLINES.length],
+                    "supplier" + (i % 3),
+                    BigDecimal.valueOf(50 + i % 950, 0).setScale(2),
+                    AIRPORTS[i % AIRPORTS.length],
+                    AIRPORTS[(i + 1 + (i / AIRPORTS.length) % (AIRPORTS.length - 1)) % AIRPORTS.length],
+                    EPOCH_MICROS.convertToDatabaseColumn(departureTime),
+                    EPOCH_MICROS.convertToDatabaseColumn(departureTime.plus(Duration.ofMinutes(90 + i % 600))),
+                    "USER", now, "USER", now});
+            if(batch.size() == 1000) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        insert(jdbcTemplate, batch);
+    }
+
+    /**
+     * Same spread as {@link #insertFlights}, as entities with ids and UTC times with sub-second precision.
+     */
+    public static List<Flight> flights(final int count) {
+        final Instant now = Instant.now();
+        List<Flight> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant departureTime = FIRST_DEPARTURE.plus(Duration.ofMinutes(10L * i));
+            flights.add(Flight.builder()
+                    .id((long) i + 1)
+                    .airline(AIRLINES[i % AIRLINES.length])
+                    .supplier("supplier" + (i % 3))
+                    .fare(BigDecimal.valueOf(50 + i % 950, 0).setScale(2))
+                    .departureAirport(AIRPORTS[i % AIRPORTS.length])
+                    .destinationAirport(AIRPORTS[(i + 1 + (i / AIRPORTS.length) % (AIRPORTS.length - 1)) % AIRPORTS.length])
+                    .departureTime(departureTime)
+                    .arrivalTime(departureTime.plus(Duration.ofMinutes(90 + i % 600)))
+                    .createdBy("USER")
+                    .createdAt(now)
+                    .updatedBy("USER")
+                    .lastUpdatedAt(now)
+                    .build());
+        }
+        return flights;
+    }
+
+    /**
+     * Crazy Supplier search results as the supplier sends them: CET times and the fare split in base price and tax.
+     */
+    public static List<CrazySupplierFlightResponse> crazySupplierFlights(final int count) {
+        List<CrazySupplierFlightResponse> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ZonedDateTime outboundDateTime = ZonedDateTime.ofInstant(FIRST_DEPARTURE.plus(Duration.ofMinutes(10L * i)), ZoneId.of("CET"));
+            flights.add(CrazySupplierFlightResponse.builder()
+                    .carrier(AIRLINES[i % AIRLINES.length])
+                    .basePrice(BigDecimal.valueOf(4000 + i % 95000, 2))
+                    .tax(BigDecimal.valueOf(1000 + i % 5000, 2))
+                    .departureAirportName(AIRPORTS[i % AIRPORTS.length])
+                    .arrivalAirportName(AIRPORTS[(i + 1) % AIRPORTS.length])
+                    .outboundDateTime(outboundDateTime.format(DateTimeFormatter.ISO_DATE_TIME))
+                    .inboundDateTime(outboundDateTime.plusMinutes(90 + i % 600).format(DateTimeFormatter.ISO_DATE_TIME))
+                    .build());
+        }
+        return flights;
+    }
+
+    private static void insert(final JdbcTemplate jdbcTemplate, final List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO FLIGHT (AIRLINE, SUPPLIER, FARE, DEPARTURE_AIRPORT, DESTINATION_AIRPORT, " +
+                "DEPARTURE_TIME, ARRIVAL_TIME, CREATED_BY, CREATED_AT, UPDATED_BY, LAST_UPDATED_AT) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
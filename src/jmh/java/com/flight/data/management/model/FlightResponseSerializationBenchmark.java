@@ -0,0 +1,75 @@
+package com.flight.data.management.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.management.benchmark.BenchmarkData;
+import com.flight.data.management.config.MessageConverterConfig;
+import com.flight.data.management.util.UtcDateTimeCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization of the list and search response body per negotiated format, with the object mapper settings Spring
+ * Boot applies, optionally gzipped as the server compresses it. The bytes on the wire per format are printed once per
+ * trial. The compact format includes building the column-wise body on every operation, as the converter does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightResponseSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int flightCount;
+
+    @Param({"json", "compact", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+
+    private FlightResponse flightResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MessageConverterConfig messageConverterConfig = new MessageConverterConfig();
+        objectMapper = switch (format) {
+            case "cbor" -> messageConverterConfig.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            case "smile" -> messageConverterConfig.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        flightResponse = FlightResponse.builder()
+                .flightDtoList(BenchmarkData.flights(flightCount).stream().map(flight -> FlightDto.builder()
+                        .id(flight.getId())
+                        .airline(flight.getAirline())
+                        .supplier(flight.getSupplier())
+                        .fare(flight.getFare())
+                        .departureAirport(flight.getDepartureAirport())
+                        .destinationAirport(flight.getDestinationAirport())
+                        .departureTime(UtcDateTimeCodec.format(flight.getDepartureTime()))
+                        .arrivalTime(UtcDateTimeCodec.format(flight.getArrivalTime()))
+                        .build()).toList())
+                .nextCursor("MTAwMA")
+                .build();
+        System.out.printf("%n%s%s, %d flights: %d bytes on the wire%n", format, gzip ? "+gzip" : "", flightCount,
+                serializeFlightResponse().length);
+    }
+
+    @Benchmark
+    public byte[] serializeFlightResponse() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(flightCount * 256);
+        try (OutputStream outputStream = gzip ? new GZIPOutputStream(body) : body) {
+            objectMapper.writeValue(outputStream, format.equals("compact") ? CompactFlightResponse.from(flightResponse) : flightResponse);
+        }
+        return body.toByteArray();
+    }
+}
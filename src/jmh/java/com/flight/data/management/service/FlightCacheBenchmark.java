@@ -0,0 +1,105 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.benchmark.BenchmarkData;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.projection.FlightProjection;
+import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.repository.FlightSearchCriteria;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-heavy workload with and without the Hibernate second-level and query cache: searches on a few popular routes
+ * and reads by id, with a share of fare updates that invalidate the cached search results.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class FlightCacheBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    private static final int HOT_ROUTES = 10;
+
+    private static final int HOT_FLIGHTS = 1000;
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    @Param({"0", "2"})
+    private int writePercent;
+
+    private ConfigurableApplicationContext context;
+
+    private FlightRepository flightRepository;
+
+    private FlightService flightService;
+
+    private List<FlightSearchCriteria> searches;
+
+    private List<Long> flightIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication("spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + cache);
+        flightRepository = context.getBean(FlightRepository.class);
+        flightService = context.getBean(FlightService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData.insertFlights(jdbcTemplate, ROWS);
+
+        Instant searchFrom = BenchmarkData.FIRST_DEPARTURE;
+        Instant searchTo = searchFrom.plus(Duration.ofDays(60));
+        searches = BenchmarkData.flights(HOT_ROUTES).stream().map(flight -> FlightSearchCriteria.builder()
+                .departureAirport(flight.getDepartureAirport())
+                .destinationAirport(flight.getDestinationAirport())
+                .departureTime(searchFrom)
+                .arrivalTime(searchTo)
+                .build()).toList();
+        flightIds = jdbcTemplate.queryForList("SELECT ID FROM FLIGHT ORDER BY ID LIMIT " + HOT_FLIGHTS, Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object readHeavy() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long id = flightIds.get(random.nextInt(flightIds.size()));
+        if(random.nextInt(100) < writePercent) {
+            return updateFare(id, BigDecimal.valueOf(50 + random.nextInt(950)));
+        }
+        if(random.nextBoolean()) {
+            return flightRepository.findById(id).orElseThrow();
+        }
+        List<FlightProjection> flights = flightRepository.searchFlights(searches.get(random.nextInt(searches.size())));
+        return flights.stream().map(FlightService::getFlightDto).toList();
+    }
+
+    private FlightDto updateFare(final Long id, final BigDecimal fare) {
+        FlightDto flight = FlightService.getFlightDto(flightRepository.findById(id).orElseThrow());
+        return flightService.updateFlight(id, FlightDto.builder()
+                .airline(flight.airline())
+                .supplier(flight.supplier())
+                .fare(fare)
+                .departureAirport(flight.departureAirport())
+                .destinationAirport(flight.destinationAirport())
+                .departureTime(flight.departureTime())
+                .arrivalTime(flight.arrivalTime())
+                .build());
+    }
+}
@@ -0,0 +1,26 @@
+package com.flight.data.management.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date parsing of a single timestamp, done twice per flight on the request paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightDateConversionBenchmark {
+
+    //Not final so JIT cannot constant fold the input
+    private String utcDateTime = "2025-04-07T16:07:09.3714066Z[UTC]";
+
+    @Benchmark
+    public ZonedDateTime covertStringToDateTime() {
+        return FlightService.covertStringToDateTime(utcDateTime);
+    }
+}
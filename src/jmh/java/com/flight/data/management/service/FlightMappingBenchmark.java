@@ -0,0 +1,47 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.benchmark.BenchmarkData;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.model.projection.FlightProjection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping done on every list and search request, for a whole page or search result.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int flightCount;
+
+    private List<Flight> flights;
+
+    private List<FlightProjection> projections;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        flights = BenchmarkData.flights(flightCount);
+        projections = flights.stream().map(flight -> new FlightProjection(flight.getId(), flight.getAirline(),
+                flight.getSupplier(), flight.getFare(), flight.getDepartureAirport(), flight.getDestinationAirport(),
+                flight.getDepartureTime(), flight.getArrivalTime(), flight.getVersion())).toList();
+    }
+
+    @Benchmark
+    public List<FlightDto> mapEntities() {
+        return flights.stream().map(FlightService::getFlightDto).toList();
+    }
+
+    @Benchmark
+    public List<FlightDto> mapProjections() {
+        return projections.stream().map(FlightService::getFlightDto).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.benchmark.BenchmarkData;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.repository.FlightSearchCriteria;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the managed entity read path with the DTO projection read path for listing and searching flights.
+ * Run with the gc profiler (default in the benchmark profile) to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightReadPathBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private FlightRepository flightRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transaction;
+
+    private Instant searchFrom;
+
+    private Instant searchTo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication();
+        flightRepository = context.getBean(FlightRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        BenchmarkData.insertFlights(context.getBean(JdbcTemplate.class), ROWS);
+
+        searchFrom = BenchmarkData.FIRST_DEPARTURE;
+        searchTo = searchFrom.plus(Duration.ofDays(60));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FlightDto> listEntityPath() {
+        return transaction.execute(status -> entityManager
+                .createQuery("SELECT f FROM Flight f WHERE f.id > :id ORDER BY f.id", Flight.class)
+                .setParameter("id", Long.MIN_VALUE)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream().map(FlightService::getFlightDto).toList());
+    }
+
+    @Benchmark
+    public List<FlightDto> listProjectionPath() {
+        return flightRepository.findFlightPage(Long.MIN_VALUE, Limit.of(pageSize))
+                .stream().map(FlightService::getFlightDto).toList();
+    }
+
+    @Benchmark
+    public List<FlightDto> searchEntityPath() {
+        return transaction.execute(status -> entityManager
+                .createQuery("SELECT f FROM Flight f WHERE f.departureAirport = :departureAirport AND " +
+                        "f.destinationAirport = :destinationAirport AND f.departureTime >= :departureTime AND " +
+                        "f.arrivalTime <= :arrivalTime", Flight.class)
+                .setParameter("departureAirport", "AMS")
+                .setParameter("destinationAirport", "MAA")
+                .setParameter("departureTime", searchFrom)
+                .setParameter("arrivalTime", searchTo)
+                .getResultList()
+                .stream().map(FlightService::getFlightDto).toList());
+    }
+
+    @Benchmark
+    public List<FlightDto> searchProjectionPath() {
+        return flightRepository.searchFlights(FlightSearchCriteria.builder()
+                        .departureAirport("AMS")
+                        .destinationAirport("MAA")
+                        .departureTime(searchFrom)
+                        .arrivalTime(searchTo)
+                        .build())
+                .stream().map(FlightService::getFlightDto).toList();
+    }
+}
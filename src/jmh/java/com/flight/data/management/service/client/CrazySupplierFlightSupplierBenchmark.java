@@ -0,0 +1,52 @@
+package com.flight.data.management.service.client;
+
+import com.flight.data.management.benchmark.BenchmarkData;
+import com.flight.data.management.model.FlightDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crazy Supplier adapter work done on every search, the time zone conversion of a single timestamp and the
+ * mapping of a whole supplier result.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrazySupplierFlightSupplierBenchmark {
+
+    @Param({"100", "1000"})
+    private int flightCount;
+
+    //Not final so JIT cannot constant fold the input
+    private String utcDateTime = "2025-04-07T16:07:09.3714066Z[UTC]";
+
+    private String cetDateTime = "2025-04-07T18:07:09.3714066+02:00[CET]";
+
+    private List<CrazySupplierFlightResponse> crazySupplierFlights;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        crazySupplierFlights = BenchmarkData.crazySupplierFlights(flightCount);
+    }
+
+    @Benchmark
+    public ZonedDateTime convertUTCToCET() {
+        return CrazySupplierFlightSupplier.convertUTCToCET(utcDateTime);
+    }
+
+    @Benchmark
+    public ZonedDateTime convertCETToUTC() {
+        return CrazySupplierFlightSupplier.convertCETToUTC(cetDateTime);
+    }
+
+    @Benchmark
+    public List<FlightDto> mapCrazySupplierFlights() {
+        return crazySupplierFlights.stream().map(CrazySupplierFlightSupplier::getFlightDto).toList();
+    }
+}
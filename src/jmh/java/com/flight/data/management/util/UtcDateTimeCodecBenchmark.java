@@ -0,0 +1,87 @@
+package com.flight.data.management.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Timestamp work of a search request and of each result row, done with the JDK parsers and formatters (as before
+ * UtcDateTimeCodec) and with the codec. Run with -prof gc and compare gc.alloc.rate.norm of each pair.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UtcDateTimeCodecBenchmark {
+
+    private static final Pattern UTC_DATE_TIME = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{1,9}Z\\[UTC]$");
+
+    //Not final so JIT cannot constant fold the input
+    private String departureTime = "2025-04-07T16:07:09.3714066Z[UTC]";
+
+    private String arrivalTime = "2025-04-08T01:07:09.3714066Z[UTC]";
+
+    private String outboundDateTime = "2025-04-07T18:07:09.3714066+02:00[CET]";
+
+    private String inboundDateTime = "2025-04-08T03:07:09.3714066+02:00[CET]";
+
+    private ZonedDateTime databaseDepartureTime = ZonedDateTime.parse("2025-04-07T16:07:09.371406Z[UTC]");
+
+    private ZonedDateTime databaseArrivalTime = ZonedDateTime.parse("2025-04-08T01:07:09.371406Z[UTC]");
+
+    //Bean validation, the departure before arrival check, the database search and the supplier request
+    @Benchmark
+    public void jdkSearchRequest(Blackhole blackhole) {
+        blackhole.consume(UTC_DATE_TIME.matcher(departureTime).matches());
+        blackhole.consume(UTC_DATE_TIME.matcher(arrivalTime).matches());
+        blackhole.consume(ZonedDateTime.parse(departureTime).isBefore(ZonedDateTime.parse(arrivalTime)));
+        blackhole.consume(ZonedDateTime.parse(departureTime));
+        blackhole.consume(ZonedDateTime.parse(arrivalTime));
+        blackhole.consume(ZonedDateTime.parse(departureTime).withZoneSameInstant(ZoneId.of("CET")));
+        blackhole.consume(ZonedDateTime.parse(arrivalTime).withZoneSameInstant(ZoneId.of("CET")));
+    }
+
+    @Benchmark
+    public void codecSearchRequest(Blackhole blackhole) {
+        blackhole.consume(UtcDateTimeCodec.isValid(departureTime));
+        blackhole.consume(UtcDateTimeCodec.isValid(arrivalTime));
+        blackhole.consume(UtcDateTimeCodec.parse(departureTime).isBefore(UtcDateTimeCodec.parse(arrivalTime)));
+        blackhole.consume(UtcDateTimeCodec.parseToUtc(departureTime));
+        blackhole.consume(UtcDateTimeCodec.parseToUtc(arrivalTime));
+        blackhole.consume(ZonedDateTime.ofInstant(UtcDateTimeCodec.parse(departureTime), UtcDateTimeCodec.CET));
+        blackhole.consume(ZonedDateTime.ofInstant(UtcDateTimeCodec.parse(arrivalTime), UtcDateTimeCodec.CET));
+    }
+
+    //CET to UTC conversion of a Crazy Supplier row
+    @Benchmark
+    public void jdkSupplierRow(Blackhole blackhole) {
+        blackhole.consume(ZonedDateTime.parse(outboundDateTime).withZoneSameInstant(ZoneId.of("UTC")).format(DateTimeFormatter.ISO_DATE_TIME));
+        blackhole.consume(ZonedDateTime.parse(inboundDateTime).withZoneSameInstant(ZoneId.of("UTC")).format(DateTimeFormatter.ISO_DATE_TIME));
+    }
+
+    @Benchmark
+    public void codecSupplierRow(Blackhole blackhole) {
+        blackhole.consume(UtcDateTimeCodec.format(UtcDateTimeCodec.parseOffsetDateTime(outboundDateTime)));
+        blackhole.consume(UtcDateTimeCodec.format(UtcDateTimeCodec.parseOffsetDateTime(inboundDateTime)));
+    }
+
+    //Formatting of a database row
+    @Benchmark
+    public void jdkDatabaseRow(Blackhole blackhole) {
+        blackhole.consume(databaseDepartureTime.withZoneSameInstant(ZoneId.of("UTC")).format(DateTimeFormatter.ISO_DATE_TIME));
+        blackhole.consume(databaseArrivalTime.withZoneSameInstant(ZoneId.of("UTC")).format(DateTimeFormatter.ISO_DATE_TIME));
+    }
+
+    @Benchmark
+    public void codecDatabaseRow(Blackhole blackhole) {
+        blackhole.consume(UtcDateTimeCodec.format(databaseDepartureTime));
+        blackhole.consume(UtcDateTimeCodec.format(databaseArrivalTime));
+    }
+}
@@ -2,12 +2,12 @@ package com.flight.data.management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
-import org.springframework.retry.annotation.EnableRetry;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableFeignClients
-@EnableRetry
 public class FlightDataManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,43 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Executor used to fan out search calls. When the pool and the queue are full a new search is rejected, so it
+     * fails fast with a 503 instead of running on the request thread, outside of its deadline.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor flightSearchExecutor(final FlightSearchProperties flightSearchProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(flightSearchProperties.executorPoolSize());
+        executor.setMaxPoolSize(flightSearchProperties.executorPoolSize());
+        executor.setQueueCapacity(flightSearchProperties.executorQueueCapacity());
+        executor.setThreadNamePrefix("flight-search-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Same executor in virtual thread mode, every search call gets its own virtual thread. The pool size becomes a
+     * concurrency limit, callers beyond it wait for a free slot, which still bounds the searches running at once.
+     */
+    @Bean("flightSearchExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualThreadFlightSearchExecutor(final FlightSearchProperties flightSearchProperties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("flight-search-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(flightSearchProperties.executorPoolSize());
+        return executor;
+    }
+}
@@ -0,0 +1,60 @@
+package com.flight.data.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.management.model.CompactFlightResponse;
+import com.flight.data.management.model.FlightResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Writes a FlightResponse as CompactFlightResponse for Accept: application/vnd.flight.compact+json, and reads it back
+ * as a FlightResponse for clients registering this converter. Every other body, e.g. an error response, is left to the
+ * JSON converter.
+ */
+public class CompactFlightResponseHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.flight.compact+json";
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public CompactFlightResponseHttpMessageConverter(final ObjectMapper objectMapper) {
+        super(objectMapper, MEDIA_TYPE);
+    }
+
+    @Override
+    public boolean canRead(final Type type, final Class<?> contextClass, final MediaType mediaType) {
+        return type == FlightResponse.class && canRead(mediaType);
+    }
+
+    //Not offered as a producible type, so a FlightResponse stays JSON unless the compact form is asked for. The JSON
+    //converter produces application/*+json, which lets the compact media type be selected from the Accept header
+    @Override
+    public boolean canWrite(final Class<?> clazz, final MediaType mediaType) {
+        return clazz == FlightResponse.class && mediaType != null && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(final Type type, final Class<?> contextClass, final HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return ((CompactFlightResponse) super.read(CompactFlightResponse.class, contextClass, inputMessage)).toFlightResponse();
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return ((CompactFlightResponse) super.readInternal(CompactFlightResponse.class, inputMessage)).toFlightResponse();
+    }
+
+    @Override
+    protected void writeInternal(final Object object, final Type type, final HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        super.writeInternal(CompactFlightResponse.from((FlightResponse) object), CompactFlightResponse.class, outputMessage);
+    }
+}
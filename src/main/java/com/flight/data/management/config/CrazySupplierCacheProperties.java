@@ -0,0 +1,22 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Crazy supplier search cache settings. Entries are evicted by size and by time since they were written.
+ */
+@ConfigurationProperties(prefix = "crazy-supplier.cache")
+public record CrazySupplierCacheProperties(
+
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("10000")
+        long maximumSize,
+
+        @DefaultValue("30s")
+        Duration ttl) {
+}
@@ -0,0 +1,29 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Crazy supplier HTTP client settings. When async is set the supplier is called through the non-blocking JDK
+ * HttpClient instead of the Feign client, so no thread waits on the supplier response. The connection pool size
+ * and keep alive of the JDK client are JVM wide, set them with -Djdk.httpclient.connectionPoolSize and
+ * -Djdk.httpclient.keepalive.timeout.
+ */
+@ConfigurationProperties(prefix = "crazy-supplier.client")
+public record CrazySupplierClientProperties(
+
+        @DefaultValue("false")
+        boolean async,
+
+        @DefaultValue("2s")
+        Duration connectTimeout,
+
+        @DefaultValue("3s")
+        Duration requestTimeout,
+
+        //Threads that complete responses and decode them, never blocked on I/O. Not used in virtual thread mode
+        @DefaultValue("4")
+        int executorThreads) {
+}
@@ -0,0 +1,18 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bulk write settings. Each chunk is written in its own transaction; keep the chunk size a multiple of
+ * hibernate.jdbc.batch_size.
+ */
+@ConfigurationProperties(prefix = "flight-bulk")
+public record FlightBulkProperties(
+
+        @DefaultValue("500")
+        int chunkSize,
+
+        @DefaultValue("10000")
+        int maxItems) {
+}
@@ -0,0 +1,20 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Conditional reads of the flight list and search. Supplier flights are not versioned, so a search ETag is only
+ * valid within the current supplier window and supplier flights can be up to one window old for a polling client.
+ */
+@ConfigurationProperties(prefix = "flight-etag")
+public record FlightETagProperties(
+
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("30s")
+        Duration supplierWindow) {
+}
@@ -0,0 +1,17 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Export settings. The export streams the whole table on an async request, so it has its own timeout instead of
+ * spring.mvc.async.request-timeout.
+ */
+@ConfigurationProperties(prefix = "flight-export")
+public record FlightExportProperties(
+
+        @DefaultValue("10m")
+        Duration timeout) {
+}
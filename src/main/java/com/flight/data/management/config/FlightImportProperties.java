@@ -0,0 +1,33 @@
+package com.flight.data.management.config;
+
+import com.flight.data.management.service.importer.FlightImportFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * File import settings. The import runs on startup when a file is set. The format is taken from the file
+ * extension unless set, and the checkpoint defaults to the file path with a .checkpoint suffix.
+ */
+@ConfigurationProperties(prefix = "flight-import")
+public record FlightImportProperties(
+
+        String file,
+
+        FlightImportFormat format,
+
+        String checkpointFile,
+
+        @DefaultValue("500")
+        int chunkSize,
+
+        @DefaultValue("4")
+        int parserThreads,
+
+        @DefaultValue("16")
+        int queueCapacity,
+
+        @DefaultValue("10s")
+        Duration progressInterval) {
+}
@@ -0,0 +1,17 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Page size settings for listing flights.
+ */
+@ConfigurationProperties(prefix = "flight-page")
+public record FlightPageProperties(
+
+        @DefaultValue("100")
+        int defaultSize,
+
+        @DefaultValue("1000")
+        int maxSize) {
+}
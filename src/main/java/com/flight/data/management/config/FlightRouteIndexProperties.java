@@ -0,0 +1,18 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * In-memory route index settings. When enabled, database search results are served from the index instead of H2.
+ * With shadow check on, every indexed search is also run against the database and differences are logged.
+ */
+@ConfigurationProperties(prefix = "flight-search.index")
+public record FlightRouteIndexProperties(
+
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("false")
+        boolean shadowCheck) {
+}
@@ -0,0 +1,17 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Search metrics settings. Hot routes (e.g. AMS-MAA) get their own route tag, every other route is tagged as
+ * "other" to keep the number of time series bounded.
+ */
+@ConfigurationProperties(prefix = "flight-search.metrics")
+public record FlightSearchMetricsProperties(
+
+        @DefaultValue
+        List<String> hotRoutes) {
+}
@@ -0,0 +1,33 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Search fan-out settings. In concurrent mode the database and the crazy supplier are queried at the same time,
+ * each source bounded by its own deadline. The stream timeout bounds a progressive search as a whole, keep it above
+ * the source deadlines.
+ */
+@ConfigurationProperties(prefix = "flight-search")
+public record FlightSearchProperties(
+
+        @DefaultValue("true")
+        boolean concurrent,
+
+        @DefaultValue("2s")
+        Duration databaseTimeout,
+
+        @DefaultValue("3s")
+        Duration supplierTimeout,
+
+        @DefaultValue("16")
+        int executorPoolSize,
+
+        @DefaultValue("100")
+        int executorQueueCapacity,
+
+        @DefaultValue("10s")
+        Duration streamTimeout) {
+}
@@ -0,0 +1,36 @@
+package com.flight.data.management.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings per flight supplier, keyed by supplier id. A supplier without settings is enabled, gets the
+ * flight-search.supplier-timeout deadline and up to 100 calls in flight.
+ */
+@ConfigurationProperties(prefix = "flight-supplier")
+public record FlightSupplierProperties(
+
+        @DefaultValue
+        Map<String, FlightSupplierSettings> suppliers) {
+
+    private static final FlightSupplierSettings DEFAULT_SETTINGS = new FlightSupplierSettings(true, null, 100);
+
+    public FlightSupplierSettings settings(final String supplierId) {
+        return suppliers.getOrDefault(supplierId, DEFAULT_SETTINGS);
+    }
+
+    public record FlightSupplierSettings(
+
+            @DefaultValue("true")
+            boolean enabled,
+
+            //Falls back to flight-search.supplier-timeout when not set
+            Duration timeout,
+
+            @DefaultValue("100")
+            int maxConcurrentCalls) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.flight.data.management.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class MessageConverterConfig {
+
+    /**
+     * CBOR (application/cbor) for service-to-service callers, chosen by the Accept header. Built from the same
+     * builder as the JSON object mapper, so both formats carry the same fields. JSON stays the default without an
+     * Accept header.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Opt-in column-wise FlightResponse with a value dictionary (application/vnd.flight.compact+json), for callers
+     * reading thousands of flights per search. Registered ahead of the JSON converter, which would otherwise also
+     * accept this +json media type.
+     */
+    @Bean
+    public CompactFlightResponseHttpMessageConverter compactFlightResponseHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new CompactFlightResponseHttpMessageConverter(builder.build());
+    }
+
+    /**
+     * Smile (application/x-jackson-smile) for Jackson callers. Repeated short values, the airlines, airports and
+     * suppliers of a flight list, are written once and referenced afterwards.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory).build());
+    }
+}
@@ -20,10 +20,13 @@ public class WebSecurityConfig {
     public SecurityFilterChain securityFilterChainForTest(HttpSecurity http) throws Exception {
         return http.authorizeHttpRequests(requests -> requests
                     .requestMatchers(antMatcher(HttpMethod.GET, "/api/flights")).permitAll()
+                    .requestMatchers(antMatcher(HttpMethod.GET, "/api/flights/export")).permitAll()
                     .requestMatchers(antMatcher(HttpMethod.POST, "/api/flights")).permitAll()
+                    .requestMatchers(antMatcher(HttpMethod.POST, "/api/flights/bulk")).permitAll()
                     .requestMatchers(antMatcher(HttpMethod.PUT, "/api/flights/**")).permitAll()
                     .requestMatchers(antMatcher(HttpMethod.DELETE, "/api/flights/**")).permitAll()
                     .requestMatchers(antMatcher(HttpMethod.POST, "/api/flights/search")).permitAll()
+                    .requestMatchers(antMatcher(HttpMethod.POST, "/api/flights/search/stream")).permitAll()
                     .requestMatchers(antMatcher("/h2-console/**")).permitAll()
                     .requestMatchers(antMatcher("/swagger-ui/**")).permitAll()
                     .requestMatchers(antMatcher("/v3/api-docs/**")).permitAll()
@@ -39,10 +42,13 @@ public class WebSecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http.authorizeHttpRequests(requests -> requests
                         .requestMatchers(antMatcher(HttpMethod.GET, "/api/flights")).permitAll()
+                        .requestMatchers(antMatcher(HttpMethod.GET, "/api/flights/export")).permitAll()
                         .requestMatchers(antMatcher(HttpMethod.POST, "/api/flights")).permitAll()
+                        .requestMatchers(antMatcher(HttpMethod.POST, "/api/flights/bulk")).permitAll()
                         .requestMatchers(antMatcher(HttpMethod.PUT, "/api/flights/**")).permitAll()
                         .requestMatchers(antMatcher(HttpMethod.DELETE, "/api/flights/**")).permitAll()
                         .requestMatchers(antMatcher(HttpMethod.POST, "/api/flights/search")).permitAll()
+                        .requestMatchers(antMatcher(HttpMethod.POST, "/api/flights/search/stream")).permitAll()
                         .requestMatchers(antMatcher("/h2-console/**")).permitAll()
                         .requestMatchers(antMatcher(HttpMethod.GET, "/actuator/**")).permitAll()
                         .requestMatchers(antMatcher(HttpMethod.OPTIONS, "/**")).permitAll()
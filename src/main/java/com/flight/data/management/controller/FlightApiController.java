@@ -1,24 +1,40 @@
 package com.flight.data.management.controller;
 
+import com.flight.data.management.config.FlightExportProperties;
+import com.flight.data.management.config.FlightSearchProperties;
 import com.flight.data.management.exception.ValidationException;
+import com.flight.data.management.model.BulkFlightResponse;
 import com.flight.data.management.model.FlightDto;
 import com.flight.data.management.model.FlightResponse;
 import com.flight.data.management.model.FlightSearchDto;
+import com.flight.data.management.service.FlightBulkService;
+import com.flight.data.management.service.FlightChangeTracker;
+import com.flight.data.management.service.FlightExportService;
+import com.flight.data.management.service.FlightSearchMetrics;
 import com.flight.data.management.service.FlightService;
+import com.flight.data.management.util.UtcDateTimeCodec;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.ZonedDateTime;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @AllArgsConstructor
@@ -28,18 +44,68 @@ public class FlightApiController {
 
     private FlightService flightService;
 
+    private FlightExportService flightExportService;
+
+    private FlightBulkService flightBulkService;
+
+    private FlightSearchMetrics flightSearchMetrics;
+
+    private FlightChangeTracker flightChangeTracker;
+
+    private FlightSearchProperties flightSearchProperties;
+
+    private FlightExportProperties flightExportProperties;
+
+    //Bean validation of the search request runs before searchFlights, time it as the validation phase
+    @InitBinder("flightSearchDto")
+    public void timeSearchValidation(WebDataBinder binder) {
+        flightSearchMetrics.timeValidation(binder);
+    }
+
     @Operation(summary = "Get all flight information",
-            description = " This API will return all flight information.")
+            description = """
+                    This API will return flight information page by page, ordered by id.
+                    Pass the nextCursor of the previous response as cursor to get the next page.
+                    Send the ETag of a previous response as If-None-Match to get 304 while no flight has changed.
+                    Responds with JSON, CBOR (application/cbor) or Smile (application/x-jackson-smile) by Accept header.
+                    application/vnd.flight.compact+json returns the flights column-wise with a value dictionary.
+                    """)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Returns flight details successfully"),
+            @ApiResponse(responseCode = "304", description = "No flight has changed since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
             @ApiResponse(responseCode = "500", description = "System errors")
     })
     @GetMapping
-    public FlightResponse getFlights() {
+    public ResponseEntity<FlightResponse> getFlights(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request for GET: /api/flights");
 
-        List<FlightDto> flightDtoList = flightService.getFlights();
-        return FlightResponse.builder().flightDtoList(flightDtoList).build();
+        //Taken before the read, a flight written during the read makes the next request read again
+        final String eTag = flightChangeTracker.listETag();
+        if(isNotModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(flightService.getFlights(cursor, size));
+    }
+
+    @Operation(summary = "Export all flight information",
+            description = " This API will stream all flight information as newline-delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streams flight details successfully"),
+            @ApiResponse(responseCode = "500", description = "System errors")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportFlights(final HttpServletResponse response) {
+        log.info("Received request for GET: /api/flights/export");
+
+        //Written straight to the response on an async task, so only the export gets the long timeout
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(flightExportProperties.timeout().toMillis(), () -> {
+            flightExportService.exportFlights(response.getOutputStream());
+            return null;
+        });
     }
 
     @Operation(summary = "Create new flight information",
@@ -72,7 +138,8 @@ public class FlightApiController {
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = """
                         Required origin, destination, airline, supplier, fare, departure, and arrival time.</br>
-                        datetime must be in ISO_DATE_TIME format (UTC timezone).
+                        datetime must be in ISO_DATE_TIME format (UTC timezone).</br>
+                        Optional version as last read, the update is rejected if the flight was updated since.
                         """,
                     required = true,
                     content = @Content(schema = @Schema(implementation = FlightDto.class))))
@@ -80,6 +147,7 @@ public class FlightApiController {
             @ApiResponse(responseCode = "200", description = "Returns updated flight details successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request"),
             @ApiResponse(responseCode = "404", description = "Flight not found"),
+            @ApiResponse(responseCode = "409", description = "Flight was updated by another request since the given version"),
             @ApiResponse(responseCode = "500", description = "System errors")
     })
     @PutMapping("/{id}")
@@ -91,8 +159,8 @@ public class FlightApiController {
             throw new ValidationException("Invalid departure and arrival time.");
         }
 
-        final ZonedDateTime departureTime = ZonedDateTime.parse(flightDto.departureTime());
-        final ZonedDateTime arrivalTime = ZonedDateTime.parse(flightDto.arrivalTime());
+        final Instant departureTime = UtcDateTimeCodec.parse(flightDto.departureTime());
+        final Instant arrivalTime = UtcDateTimeCodec.parse(flightDto.arrivalTime());
         if(departureTime.isAfter(arrivalTime)) {
             throw new ValidationException("Invalid departure and arrival time.");
         }
@@ -116,9 +184,64 @@ public class FlightApiController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @Operation(summary = "Create flights in bulk",
+            description = """
+                    This API will create many flights at once. Every flight is validated on its own and the
+                    response reports the outcome of each flight by its position in the request.
+                    """)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Returns the outcome of each flight."),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "500", description = "System errors")
+    })
+    @PostMapping("/bulk")
+    public BulkFlightResponse createFlights(@RequestBody List<FlightDto> flightDtoList) {
+        log.info("Received request to create flights in bulk POST: /api/flights/bulk. Flights: {}", flightDtoList.size());
+
+        return flightBulkService.createFlights(flightDtoList);
+    }
+
+    @Operation(summary = "Update flights in bulk",
+            description = """
+                    This API will update many existing flights at once. Every flight must have an id. The response
+                    reports the outcome of each flight by its position in the request.
+                    """)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Returns the outcome of each flight."),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "500", description = "System errors")
+    })
+    @PutMapping("/bulk")
+    public BulkFlightResponse updateFlights(@RequestBody List<FlightDto> flightDtoList) {
+        log.info("Received request to update flights in bulk PUT: /api/flights/bulk. Flights: {}", flightDtoList.size());
+
+        return flightBulkService.updateFlights(flightDtoList);
+    }
+
+    @Operation(summary = "Delete flights in bulk",
+            description = " This API will delete many flights by id. The response reports the outcome of each id.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Returns the outcome of each flight."),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "500", description = "System errors")
+    })
+    @DeleteMapping("/bulk")
+    public BulkFlightResponse deleteFlights(@RequestBody List<Long> ids) {
+        log.info("Received request to delete flights in bulk DELETE: /api/flights/bulk. Flights: {}", ids.size());
+
+        return flightBulkService.deleteFlights(ids);
+    }
+
     @Operation(summary = "Search flight information",
             description = """
                     Search and filter flight data based on origin, destination, airline, departure, and arrival time.
+                    Optionally filter on airlines, fare range and maximum duration, sort by fare, departure time or
+                    duration and limit the number of flights.
+                    Send the ETag of a previous response to the same search as If-None-Match to get 304 while no
+                    flight has changed, within the supplier window (flight-etag.supplier-window).
+                    Responds with JSON, CBOR (application/cbor) or Smile (application/x-jackson-smile) by Accept header.
+                    application/vnd.flight.compact+json returns the flights column-wise with a value dictionary.
+                    A supplier that times out or fails is left out and listed in timedOutSources or failedSources.
                     """,
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = """
@@ -128,25 +251,112 @@ public class FlightApiController {
                     content = @Content(schema = @Schema(implementation = FlightDto.class))))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Returns updated flight details successfully."),
+            @ApiResponse(responseCode = "304", description = "Same search result as for the given ETag"),
             @ApiResponse(responseCode = "400", description = "Bad request"),
             @ApiResponse(responseCode = "404", description = "Flight not found"),
-            @ApiResponse(responseCode = "500", description = "System errors")
+            @ApiResponse(responseCode = "500", description = "System errors"),
+            @ApiResponse(responseCode = "503", description = "Too many searches in progress")
     })
     @PostMapping("/search")
-    public FlightResponse searchFlights(@RequestBody @Valid FlightSearchDto flightSearchDto) {
+    public CompletableFuture<ResponseEntity<FlightResponse>> searchFlights(@RequestBody @Valid FlightSearchDto flightSearchDto,
+                                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request to search flights POST: /api/flights. Search params: {}", flightSearchDto.toString());
 
+        validateSearch(flightSearchDto);
+
+        final String eTag = flightChangeTracker.searchETag(flightSearchDto);
+        if(isNotModified(ifNoneMatch, eTag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT).build());
+        }
+
+        //The request thread is released here, the response is written once both sources are merged
+        return flightService.searchFlightsAsync(flightSearchDto)
+                //A result missing a timed out or failed source must not be confirmed to the next request
+                .thenApply(flightResponse -> ResponseEntity.ok()
+                        .eTag(flightResponse.timedOutSources() == null && flightResponse.failedSources() == null ? eTag : null)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(flightResponse));
+    }
+
+    @Operation(summary = "Search flight information progressively",
+            description = """
+                    Same search as /api/flights/search, streamed as server-sent events. A flights event is sent per
+                    source as soon as that source answers, the database first. A complete event with the status of
+                    every source (COMPLETED, TIMED_OUT or FAILED) ends the stream.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = """
+                        Required origin, destination, departure, and arrival time. airline is optional.
+                        """,
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = FlightDto.class))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streams flight details per source."),
+            @ApiResponse(responseCode = "400", description = "Bad request"),
+            @ApiResponse(responseCode = "500", description = "System errors")
+    })
+    @PostMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSearchFlights(@RequestBody @Valid FlightSearchDto flightSearchDto) {
+        log.info("Received request to stream search flights POST: /api/flights/search/stream. Search params: {}", flightSearchDto.toString());
+
+        validateSearch(flightSearchDto);
+
+        //Every source has its own deadline, so the stream always ends with the complete event
+        SseEmitter emitter = new SseEmitter(flightSearchProperties.streamTimeout().toMillis());
+        flightService.searchFlightsProgressively(flightSearchDto, batch -> sendEvent(emitter, "flights", batch))
+                .whenComplete((sourceStatuses, exception) -> {
+                    if(exception != null) {
+                        emitter.completeWithError(exception);
+                    } else if(sendEvent(emitter, "complete", sourceStatuses)) {
+                        emitter.complete();
+                    }
+                });
+        return emitter;
+    }
+
+    private static boolean sendEvent(final SseEmitter emitter, final String name, final Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException exception) {
+            //The client went away, the remaining sources still finish but are not sent
+            log.debug("Could not send {} event: {}", name, exception.getMessage());
+            return false;
+        }
+    }
+
+    //Weak comparison, as for any If-None-Match
+    private static boolean isNotModified(final String ifNoneMatch, final String eTag) {
+        if(ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for(String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if(value.equals("*") || opaqueTag(value).equals(opaqueTag(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(final String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static void validateSearch(final FlightSearchDto flightSearchDto) {
         if(!isDepartureTimeBeforeArrivalTime(flightSearchDto.departureTime(), flightSearchDto.arrivalTime())) {
             throw new ValidationException("Invalid departure and arrival time.");
         }
-
-        List<FlightDto> flightDtoList = flightService.searchFlights(flightSearchDto);
-        return FlightResponse.builder().flightDtoList(flightDtoList).build();
+        if(flightSearchDto.minFare() != null && flightSearchDto.maxFare() != null
+                && flightSearchDto.minFare().compareTo(flightSearchDto.maxFare()) > 0) {
+            throw new ValidationException("Invalid minimum and maximum fare.");
+        }
     }
 
     private static boolean isDepartureTimeBeforeArrivalTime(final String departureTimeString, final String arrivalTimeString) {
-        final ZonedDateTime departureTime = ZonedDateTime.parse(departureTimeString);
-        final ZonedDateTime arrivalTime = ZonedDateTime.parse(arrivalTimeString);
+        final Instant departureTime = UtcDateTimeCodec.parse(departureTimeString);
+        final Instant arrivalTime = UtcDateTimeCodec.parse(arrivalTimeString);
 
         return departureTime.isBefore(arrivalTime);
     }
@@ -0,0 +1,8 @@
+package com.flight.data.management.exception;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(final String message) {
+        super(message);
+    }
+}
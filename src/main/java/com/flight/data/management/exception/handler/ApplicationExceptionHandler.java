@@ -1,5 +1,6 @@
 package com.flight.data.management.exception.handler;
 
+import com.flight.data.management.exception.ConflictException;
 import com.flight.data.management.exception.ResourceNotFoundException;
 import com.flight.data.management.exception.ValidationException;
 import com.flight.data.management.model.ErrorResponse;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
@@ -24,7 +26,6 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 @Slf4j
 public class ApplicationExceptionHandler {
 
-
     @ExceptionHandler(Throwable.class)
     public ResponseEntity<ErrorResponse> handleGenericException(final Exception exception) {
         log.error("Internal server error - {}", exception.getMessage());
@@ -43,6 +44,13 @@ public class ApplicationExceptionHandler {
         }
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(final RejectedExecutionException exception) {
+        log.warn("Flight search rejected, search executor is saturated - {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.name(), "Too many searches in progress, try again later", null));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(final MethodArgumentNotValidException exception) {
         log.warn("Missing required field - {}", exception.getMessage());
@@ -63,6 +71,12 @@ public class ApplicationExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(HttpStatus.NOT_FOUND.name(), exception.getMessage(), null));
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(final ConflictException exception) {
+        log.warn("Conflict error - {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(HttpStatus.CONFLICT.name(), exception.getMessage(), null));
+    }
+
     private ErrorResponse processFieldErrors(List<FieldError> fieldErrors) {
         List<String> errors = new ArrayList<>();
         for (FieldError fieldError: fieldErrors) {
@@ -0,0 +1,11 @@
+package com.flight.data.management.model;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BulkFlightResponse(int succeeded,
+                                 int failed,
+                                 List<BulkFlightResult> results) {
+}
@@ -0,0 +1,14 @@
+package com.flight.data.management.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkFlightResult(int index,
+                               Long id,
+                               BulkItemStatus status,
+                               List<String> errors) {
+}
@@ -0,0 +1,11 @@
+package com.flight.data.management.model;
+
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INVALID,
+    NOT_FOUND,
+    CONFLICT,
+    FAILED
+}
@@ -0,0 +1,117 @@
+package com.flight.data.management.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flight.data.management.model.entity.EpochMicrosConverter;
+import com.flight.data.management.util.UtcDateTimeCodec;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Column-wise form of a FlightResponse for large results. Flight i is the i-th value of every column. Airlines,
+ * suppliers and airports are written once in the dictionary and referenced by their index in it. Times are epoch
+ * microseconds, the precision flights are stored with, still exact as a JavaScript number. The version column is
+ * left out when no flight has a version, i.e. all flights come from suppliers.
+ */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CompactFlightResponse(List<String> dictionary,
+                                    List<Long> id,
+                                    List<Long> version,
+                                    List<Integer> airline,
+                                    List<Integer> supplier,
+                                    List<BigDecimal> fare,
+                                    List<Integer> departureAirport,
+                                    List<Integer> destinationAirport,
+                                    List<Long> departureTime,
+                                    List<Long> arrivalTime,
+                                    String nextCursor,
+                                    List<String> timedOutSources,
+                                    List<String> failedSources) {
+
+    public static CompactFlightResponse from(final FlightResponse flightResponse) {
+        final List<FlightDto> flights = Objects.requireNonNullElse(flightResponse.flightDtoList(), List.of());
+        final int size = flights.size();
+        final Dictionary dictionary = new Dictionary();
+        final List<Long> id = new ArrayList<>(size);
+        final List<Long> version = new ArrayList<>(size);
+        final List<Integer> airline = new ArrayList<>(size);
+        final List<Integer> supplier = new ArrayList<>(size);
+        final List<BigDecimal> fare = new ArrayList<>(size);
+        final List<Integer> departureAirport = new ArrayList<>(size);
+        final List<Integer> destinationAirport = new ArrayList<>(size);
+        final List<Long> departureTime = new ArrayList<>(size);
+        final List<Long> arrivalTime = new ArrayList<>(size);
+        boolean versioned = false;
+        for(FlightDto flight : flights) {
+            id.add(flight.id());
+            version.add(flight.version());
+            versioned |= flight.version() != null;
+            airline.add(dictionary.indexOf(flight.airline()));
+            supplier.add(dictionary.indexOf(flight.supplier()));
+            fare.add(flight.fare());
+            departureAirport.add(dictionary.indexOf(flight.departureAirport()));
+            destinationAirport.add(dictionary.indexOf(flight.destinationAirport()));
+            departureTime.add(EpochMicrosConverter.toEpochMicros(UtcDateTimeCodec.parse(flight.departureTime())));
+            arrivalTime.add(EpochMicrosConverter.toEpochMicros(UtcDateTimeCodec.parse(flight.arrivalTime())));
+        }
+        return CompactFlightResponse.builder()
+                .dictionary(dictionary.values)
+                .id(id)
+                .version(versioned ? version : null)
+                .airline(airline)
+                .supplier(supplier)
+                .fare(fare)
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .departureTime(departureTime)
+                .arrivalTime(arrivalTime)
+                .nextCursor(flightResponse.nextCursor())
+                .timedOutSources(flightResponse.timedOutSources())
+                .failedSources(flightResponse.failedSources())
+                .build();
+    }
+
+    public FlightResponse toFlightResponse() {
+        final List<FlightDto> flights = new ArrayList<>(id.size());
+        for(int index = 0; index < id.size(); index++) {
+            flights.add(FlightDto.builder()
+                    .id(id.get(index))
+                    .version(version == null ? null : version.get(index))
+                    .airline(dictionary.get(airline.get(index)))
+                    .supplier(dictionary.get(supplier.get(index)))
+                    .fare(fare.get(index))
+                    .departureAirport(dictionary.get(departureAirport.get(index)))
+                    .destinationAirport(dictionary.get(destinationAirport.get(index)))
+                    .departureTime(UtcDateTimeCodec.format(EpochMicrosConverter.toInstant(departureTime.get(index))))
+                    .arrivalTime(UtcDateTimeCodec.format(EpochMicrosConverter.toInstant(arrivalTime.get(index))))
+                    .build());
+        }
+        return FlightResponse.builder()
+                .flightDtoList(flights)
+                .nextCursor(nextCursor)
+                .timedOutSources(timedOutSources)
+                .failedSources(failedSources)
+                .build();
+    }
+
+    //Index of every distinct value in order of first use
+    private static final class Dictionary {
+
+        private final List<String> values = new ArrayList<>();
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private int indexOf(final String value) {
+            return indexes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+    }
+}
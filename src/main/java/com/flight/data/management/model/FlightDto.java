@@ -1,5 +1,7 @@
 package com.flight.data.management.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flight.data.management.model.validation.UtcDateTime;
 import jakarta.validation.constraints.*;
 import lombok.Builder;
 
@@ -10,6 +12,10 @@ public record FlightDto(
 
         Long id,
 
+        //Version read by the client, an update with an outdated version is rejected
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long version,
+
         @NotBlank(message = "Airline name cannot be empty.")
         String airline,
 
@@ -29,11 +35,11 @@ public record FlightDto(
         String destinationAirport,
 
         @NotNull(message = "Departure time cannot be null.")
-        @Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{1,9}Z\\[UTC]$", message = "Departure time must be ISO_DATE_TIME format (UTC timezone).")
+        @UtcDateTime(message = "Departure time must be ISO_DATE_TIME format (UTC timezone).")
         String departureTime,
 
         @NotNull(message = "Arrival time cannot be null.")
-        @Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{1,9}Z\\[UTC]$", message = "Arrival time must be ISO_DATE_TIME format (UTC timezone).")
+        @UtcDateTime(message = "Arrival time must be ISO_DATE_TIME format (UTC timezone).")
         String arrivalTime) {
 
 }
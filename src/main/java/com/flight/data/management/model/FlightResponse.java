@@ -1,9 +1,14 @@
 package com.flight.data.management.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
 import java.util.List;
 
 @Builder
-public record FlightResponse(List<FlightDto> flightDtoList) {
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FlightResponse(List<FlightDto> flightDtoList,
+                             String nextCursor,
+                             List<String> timedOutSources,
+                             List<String> failedSources) {
 }
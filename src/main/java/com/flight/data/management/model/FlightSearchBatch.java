@@ -0,0 +1,10 @@
+package com.flight.data.management.model;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record FlightSearchBatch(String source,
+                                List<FlightDto> flightDtoList) {
+}
@@ -1,9 +1,17 @@
 package com.flight.data.management.model;
 
+import com.flight.data.management.model.validation.UtcDateTime;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
+import org.hibernate.validator.constraints.time.DurationMin;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 
 @Builder
 public record FlightSearchDto(
@@ -19,11 +27,32 @@ public record FlightSearchDto(
         String destinationAirport,
 
         @NotNull(message = "Departure time cannot be null.")
-        @Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{1,9}Z\\[UTC]$", message = "Departure time must be ISO_DATE_TIME format (UTC timezone).")
+        @UtcDateTime(message = "Departure time must be ISO_DATE_TIME format (UTC timezone).")
         String departureTime,
 
         @NotNull(message = "Arrival time cannot be null.")
-        @Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{1,9}Z\\[UTC]$", message = "Arrival time must be ISO_DATE_TIME format (UTC timezone).")
-        String arrivalTime
+        @UtcDateTime(message = "Arrival time must be ISO_DATE_TIME format (UTC timezone).")
+        String arrivalTime,
+
+        //Optional filters, pushed into the database query and applied to the supplier flights
+        List<String> airlines,
+
+        @DecimalMin(value = "0.00", message = "Minimum fare must not be negative.")
+        BigDecimal minFare,
+
+        @DecimalMin(value = "0.00", message = "Maximum fare must not be negative.")
+        BigDecimal maxFare,
+
+        //ISO-8601 duration, e.g. PT10H
+        @DurationMin(minutes = 1, message = "Maximum duration must be at least 1 minute.")
+        Duration maxDuration,
+
+        //Optional, without it flights keep the source order, database first
+        FlightSortOrder sortBy,
+
+        //Optional, without it all flights are returned
+        @Min(value = 1, message = "Limit must be between 1 and 1000.")
+        @Max(value = 1000, message = "Limit must be between 1 and 1000.")
+        Integer limit
 ) {
 }
@@ -0,0 +1,9 @@
+package com.flight.data.management.model;
+
+import lombok.Builder;
+
+@Builder
+public record FlightSearchSourceStatus(String source,
+                                       SearchSourceStatus status,
+                                       int flightCount) {
+}
@@ -0,0 +1,7 @@
+package com.flight.data.management.model;
+
+public enum FlightSortOrder {
+    FARE,
+    DEPARTURE_TIME,
+    DURATION
+}
@@ -0,0 +1,7 @@
+package com.flight.data.management.model;
+
+public enum SearchSourceStatus {
+    COMPLETED,
+    TIMED_OUT,
+    FAILED
+}
@@ -0,0 +1,38 @@
+package com.flight.data.management.model.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.Instant;
+
+/**
+ * Stores an Instant as microseconds since the epoch in a BIGINT column. Microseconds keep the precision the
+ * TIMESTAMP columns had, fractions below are rounded half up the same way the database rounded them.
+ */
+@Converter
+public class EpochMicrosConverter implements AttributeConverter<Instant, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Instant instant) {
+        if(instant == null) {
+            return null;
+        }
+        return toEpochMicros(instant);
+    }
+
+    @Override
+    public Instant convertToEntityAttribute(Long epochMicros) {
+        if(epochMicros == null) {
+            return null;
+        }
+        return toInstant(epochMicros);
+    }
+
+    public static long toEpochMicros(final Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), (instant.getNano() + 500) / 1000);
+    }
+
+    public static Instant toInstant(final long epochMicros) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L), Math.floorMod(epochMicros, 1_000_000L) * 1000);
+    }
+}
@@ -5,9 +5,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
-import java.time.ZonedDateTime;
+import java.time.Instant;
 
 @Data
 @Builder
@@ -15,10 +18,17 @@ import java.time.ZonedDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "FLIGHT")
+//Updated in the cache after every committed write, reads by id skip the database
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Flight.CACHE_REGION)
 public class Flight {
 
+    public static final String CACHE_REGION = "flight";
+
+    //Pooled sequence so Hibernate can assign ids without a round trip per row and batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_seq")
+    @SequenceGenerator(name = "flight_seq", sequenceName = "FLIGHT_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(name = "AIRLINE", nullable = false)
@@ -36,21 +46,36 @@ public class Flight {
     @Column(name = "DESTINATION_AIRPORT", nullable = false)
     private String destinationAirport;
 
+    //UTC instants stored as epoch microseconds, range searches compare plain numbers
     @Column(name = "DEPARTURE_TIME", nullable = false)
-    private ZonedDateTime departureTime;
+    @Convert(converter = EpochMicrosConverter.class)
+    private Instant departureTime;
 
     @Column(name = "ARRIVAL_TIME", nullable = false)
-    private ZonedDateTime arrivalTime;
+    @Convert(converter = EpochMicrosConverter.class)
+    private Instant arrivalTime;
+
+    //Read only, lets search queries filter and order on the flight duration in plain numbers.
+    //Not recomputed on update, so not for use on a loaded or cached entity.
+    @Formula("ARRIVAL_TIME - DEPARTURE_TIME")
+    private Long durationMicros;
 
     @Column(name = "CREATED_BY", nullable = false)
     private String createdBy;
 
     @Column(name = "CREATED_AT", nullable = false)
-    private ZonedDateTime createdAt;
+    @Convert(converter = EpochMicrosConverter.class)
+    private Instant createdAt;
 
     @Column(name = "UPDATED_BY", nullable = false)
     private String updatedBy;
 
     @Column(name = "LAST_UPDATED_AT", nullable = false)
-    private ZonedDateTime lastUpdatedAt;
+    @Convert(converter = EpochMicrosConverter.class)
+    private Instant lastUpdatedAt;
+
+    //Optimistic lock, concurrent updates of the same flight cannot overwrite each other
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
 }
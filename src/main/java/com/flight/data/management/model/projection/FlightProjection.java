@@ -0,0 +1,29 @@
+package com.flight.data.management.model.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-only view of the API columns of a flight. Built by JPQL constructor expressions, so it is never
+ * attached to the persistence context.
+ */
+public record FlightProjection(
+
+        Long id,
+
+        String airline,
+
+        String supplier,
+
+        BigDecimal fare,
+
+        String departureAirport,
+
+        String destinationAirport,
+
+        Instant departureTime,
+
+        Instant arrivalTime,
+
+        Long version) {
+}
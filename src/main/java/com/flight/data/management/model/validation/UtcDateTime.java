@@ -0,0 +1,23 @@
+package com.flight.data.management.model.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+/**
+ * The annotated string must be a UTC date time in the API format, e.g. 2025-04-07T16:07:09.3714066Z[UTC].
+ * Null is valid, combine with @NotNull when the value is required.
+ */
+@Documented
+@Constraint(validatedBy = UtcDateTimeValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UtcDateTime {
+
+    String message() default "Date time must be ISO_DATE_TIME format (UTC timezone).";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
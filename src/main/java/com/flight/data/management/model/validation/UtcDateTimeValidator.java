@@ -0,0 +1,13 @@
+package com.flight.data.management.model.validation;
+
+import com.flight.data.management.util.UtcDateTimeCodec;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class UtcDateTimeValidator implements ConstraintValidator<UtcDateTime, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || UtcDateTimeCodec.isValid(value);
+    }
+}
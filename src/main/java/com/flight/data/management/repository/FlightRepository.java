@@ -1,25 +1,45 @@
 package com.flight.data.management.repository;
 
 import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.model.projection.FlightProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface FlightRepository extends JpaRepository<Flight, Long> {
-
-    @Query("SELECT f FROM Flight f WHERE " +
-            "(:airline IS NULL OR f.airline = :airline) AND " +
-            "f.departureAirport = :departureAirport AND " +
-            "f.destinationAirport = :destinationAirport AND " +
-            "f.departureTime >= :departureTime AND " +
-            "f.arrivalTime <= :arrivalTime")
-    List<Flight> searchFlights(@Param("airline") String airline,
-                               @Param("departureAirport") String departureAirport,
-                               @Param("destinationAirport") String destinationAirport,
-                               @Param("departureTime") ZonedDateTime departureTime,
-                               @Param("arrivalTime") ZonedDateTime arrivalTime);
+public interface FlightRepository extends JpaRepository<Flight, Long>, FlightSearchRepository {
+
+    String FLIGHT_PROJECTION = "new com.flight.data.management.model.projection.FlightProjection(" +
+            "f.id, f.airline, f.supplier, f.fare, f.departureAirport, f.destinationAirport, f.departureTime, f.arrivalTime, f.version)";
+
+    /**
+     * Keyset page: seeks past the last id of the previous page, so the cost does not grow with the page depth.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + FLIGHT_PROJECTION + " FROM Flight f WHERE f.id > :id ORDER BY f.id")
+    List<FlightProjection> findFlightPage(@Param("id") Long id, Limit limit);
+
+    @Query("SELECT f.id FROM Flight f WHERE f.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams every flight through a JDBC cursor. Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            //A full table read would push every other flight out of the bounded second-level cache
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT f FROM Flight f ORDER BY f.id")
+    Stream<Flight> streamAllFlights();
 
 }
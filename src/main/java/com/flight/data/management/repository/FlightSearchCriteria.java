@@ -0,0 +1,60 @@
+package com.flight.data.management.repository;
+
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightSortOrder;
+import com.flight.data.management.util.UtcDateTimeCodec;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Filters, order and limit of a database flight search. Route and time window are required, every other null or
+ * empty field does not filter. Without a sort order the flights come in no particular order.
+ */
+@Builder(toBuilder = true)
+public record FlightSearchCriteria(
+
+        String airline,
+
+        Set<String> airlines,
+
+        String departureAirport,
+
+        String destinationAirport,
+
+        Instant departureTime,
+
+        Instant arrivalTime,
+
+        BigDecimal minFare,
+
+        BigDecimal maxFare,
+
+        Duration maxDuration,
+
+        FlightSortOrder sortBy,
+
+        Integer limit) {
+
+    /**
+     * Whether the flight passes the airlines, fare and duration filters, for flights that did not come from the
+     * database query. Route, time window and the single airline are left to the source, as before these filters.
+     */
+    public boolean matches(final FlightDto flight) {
+        if(airlines != null && !airlines.isEmpty() && !airlines.contains(flight.airline())) {
+            return false;
+        }
+        if(minFare != null && flight.fare().compareTo(minFare) < 0 || maxFare != null && flight.fare().compareTo(maxFare) > 0) {
+            return false;
+        }
+        return maxDuration == null || Duration.between(UtcDateTimeCodec.parse(flight.departureTime()),
+                UtcDateTimeCodec.parse(flight.arrivalTime())).compareTo(maxDuration) <= 0;
+    }
+
+    public boolean hasFilters() {
+        return airlines != null && !airlines.isEmpty() || minFare != null || maxFare != null || maxDuration != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.flight.data.management.repository;
+
+import com.flight.data.management.model.projection.FlightProjection;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface FlightSearchRepository {
+
+    /**
+     * Searches with the filters, order and limit built into the query, so the database only returns the rows the
+     * search will use. Only the criteria that are set become predicates. The limit counts rows, duplicate flights
+     * from several suppliers included.
+     */
+    @Transactional(readOnly = true)
+    List<FlightProjection> searchFlights(FlightSearchCriteria criteria);
+}
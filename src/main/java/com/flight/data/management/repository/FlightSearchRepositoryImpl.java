@@ -0,0 +1,95 @@
+package com.flight.data.management.repository;
+
+import com.flight.data.management.model.FlightSortOrder;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.model.projection.FlightProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link FlightSearchRepository}, only the criteria that are set end up in the query.
+ */
+@AllArgsConstructor
+class FlightSearchRepositoryImpl implements FlightSearchRepository {
+
+    private static final long NANOS_PER_MICRO = 1000;
+
+    static final String CACHE_REGION = "flight-search";
+
+    private EntityManager entityManager;
+
+    @Override
+    public List<FlightProjection> searchFlights(final FlightSearchCriteria criteria) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FlightProjection> query = criteriaBuilder.createQuery(FlightProjection.class);
+        Root<Flight> flight = query.from(Flight.class);
+        query.select(criteriaBuilder.construct(FlightProjection.class, flight.get("id"), flight.get("airline"),
+                flight.get("supplier"), flight.get("fare"), flight.get("departureAirport"), flight.get("destinationAirport"),
+                flight.get("departureTime"), flight.get("arrivalTime"), flight.get("version")));
+        query.where(getPredicates(criteriaBuilder, flight, criteria).toArray(Predicate[]::new));
+        if(criteria.sortBy() != null) {
+            query.orderBy(getOrder(criteriaBuilder, flight, criteria.sortBy()));
+        }
+
+        //Popular routes repeat the same search, any write to the flight table invalidates the cached results
+        TypedQuery<FlightProjection> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, CACHE_REGION);
+        if(criteria.limit() != null) {
+            typedQuery.setMaxResults(criteria.limit());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private static List<Predicate> getPredicates(final CriteriaBuilder criteriaBuilder, final Root<Flight> flight,
+                                                 final FlightSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.equal(flight.get("departureAirport"), criteria.departureAirport()));
+        predicates.add(criteriaBuilder.equal(flight.get("destinationAirport"), criteria.destinationAirport()));
+        predicates.add(criteriaBuilder.greaterThanOrEqualTo(flight.<Instant>get("departureTime"), criteria.departureTime()));
+        predicates.add(criteriaBuilder.lessThanOrEqualTo(flight.<Instant>get("arrivalTime"), criteria.arrivalTime()));
+        if(criteria.airline() != null) {
+            predicates.add(criteriaBuilder.equal(flight.get("airline"), criteria.airline()));
+        }
+        if(criteria.airlines() != null && !criteria.airlines().isEmpty()) {
+            predicates.add(flight.get("airline").in(criteria.airlines()));
+        }
+        if(criteria.minFare() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(flight.<BigDecimal>get("fare"), criteria.minFare()));
+        }
+        if(criteria.maxFare() != null) {
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(flight.<BigDecimal>get("fare"), criteria.maxFare()));
+        }
+        if(criteria.maxDuration() != null) {
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(flight.<Long>get("durationMicros"),
+                    criteria.maxDuration().toNanos() / NANOS_PER_MICRO));
+        }
+        return predicates;
+    }
+
+    //Same order as the search result merge: sort key, then fare, then departure time
+    private static List<Order> getOrder(final CriteriaBuilder criteriaBuilder, final Root<Flight> flight, final FlightSortOrder sortBy) {
+        List<Order> order = new ArrayList<>();
+        if(sortBy == FlightSortOrder.DEPARTURE_TIME) {
+            order.add(criteriaBuilder.asc(flight.get("departureTime")));
+        } else if(sortBy == FlightSortOrder.DURATION) {
+            order.add(criteriaBuilder.asc(flight.get("durationMicros")));
+        }
+        order.add(criteriaBuilder.asc(flight.get("fare")));
+        order.add(criteriaBuilder.asc(flight.get("departureTime")));
+        order.add(criteriaBuilder.asc(flight.get("id")));
+        return order;
+    }
+}
@@ -0,0 +1,262 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightBulkProperties;
+import com.flight.data.management.exception.ValidationException;
+import com.flight.data.management.model.BulkFlightResponse;
+import com.flight.data.management.model.BulkFlightResult;
+import com.flight.data.management.model.BulkItemStatus;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.util.UtcDateTimeCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes flights in bulk. Every item is validated up front, then the valid items are written in chunks,
+ * each chunk in its own transaction so Hibernate can send the rows as JDBC batches. A failing chunk only
+ * fails its own items.
+ */
+@Service
+@Slf4j
+public class FlightBulkService {
+
+    private final FlightRepository flightRepository;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transaction;
+
+    private final FlightRouteIndex flightRouteIndex;
+
+    private final FlightBulkProperties flightBulkProperties;
+
+    private final FlightChangeTracker flightChangeTracker;
+
+    public FlightBulkService(final FlightRepository flightRepository,
+                             final EntityManager entityManager,
+                             final Validator validator,
+                             final PlatformTransactionManager transactionManager,
+                             final FlightRouteIndex flightRouteIndex,
+                             final FlightBulkProperties flightBulkProperties,
+                             final FlightChangeTracker flightChangeTracker) {
+        this.flightRepository = flightRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.flightRouteIndex = flightRouteIndex;
+        this.flightBulkProperties = flightBulkProperties;
+        this.flightChangeTracker = flightChangeTracker;
+    }
+
+    public BulkFlightResponse createFlights(final List<FlightDto> flightDtos) {
+        checkBulkSize(flightDtos);
+        final BulkFlightResult[] results = new BulkFlightResult[flightDtos.size()];
+
+        for (List<Integer> chunk : chunks(validate(flightDtos, false, results))) {
+            try {
+                List<Flight> savedFlights = createChunk(chunk.stream().map(flightDtos::get).toList());
+                for (int i = 0; i < chunk.size(); i++) {
+                    Flight savedFlight = savedFlights.get(i);
+                    results[chunk.get(i)] = result(chunk.get(i), savedFlight.getId(), BulkItemStatus.CREATED, null);
+                }
+            } catch (RuntimeException exception) {
+                failChunk(chunk, index -> flightDtos.get(index).id(), exception, results);
+            }
+        }
+        return toResponse(results);
+    }
+
+    /**
+     * Writes one chunk of already validated flights in a single transaction and adds them to the route index.
+     * Returns the saved flights in order.
+     */
+    public List<Flight> createChunk(final List<FlightDto> flightDtos) {
+        List<Flight> savedFlights = transaction.execute(status -> {
+            final Instant utcNow = Instant.now();
+            List<Flight> flights = flightRepository.saveAll(flightDtos.stream()
+                    .map(flightDto -> FlightService.newFlight(flightDto, utcNow))
+                    .toList());
+            entityManager.flush();
+            entityManager.clear();
+            return flights;
+        });
+        savedFlights.forEach(flightRouteIndex::put);
+        if(!savedFlights.isEmpty()) {
+            flightChangeTracker.flightsChanged();
+        }
+        return savedFlights;
+    }
+
+    public BulkFlightResponse updateFlights(final List<FlightDto> flightDtos) {
+        checkBulkSize(flightDtos);
+        final BulkFlightResult[] results = new BulkFlightResult[flightDtos.size()];
+
+        for (List<Integer> chunk : chunks(validate(flightDtos, true, results))) {
+            final List<Flight> updatedFlights = new ArrayList<>();
+            try {
+                List<BulkFlightResult> chunkResults = transaction.execute(status -> {
+                    final Instant utcNow = Instant.now();
+                    Map<Long, Flight> flights = flightRepository.findAllById(chunk.stream().map(index -> flightDtos.get(index).id()).toList())
+                            .stream().collect(Collectors.toMap(Flight::getId, Function.identity()));
+
+                    List<BulkFlightResult> updateResults = new ArrayList<>();
+                    for (Integer index : chunk) {
+                        FlightDto flightDto = flightDtos.get(index);
+                        Flight flight = flights.get(flightDto.id());
+                        if(flight == null) {
+                            updateResults.add(result(index, flightDto.id(), BulkItemStatus.NOT_FOUND, List.of("Flight not found")));
+                        } else if(flightDto.version() != null && !flightDto.version().equals(flight.getVersion())) {
+                            updateResults.add(result(index, flightDto.id(), BulkItemStatus.CONFLICT,
+                                    List.of("Flight was updated by another request, read it again and retry.")));
+                        } else {
+                            FlightService.applyFlightDto(flight, flightDto, utcNow);
+                            updatedFlights.add(flight);
+                            updateResults.add(result(index, flightDto.id(), BulkItemStatus.UPDATED, null));
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    return updateResults;
+                });
+                updatedFlights.forEach(flightRouteIndex::put);
+                //A chunk of conflicts and missing flights changes nothing, cached ETags stay valid
+                if(!updatedFlights.isEmpty()) {
+                    flightChangeTracker.flightsChanged();
+                }
+                chunkResults.forEach(chunkResult -> results[chunkResult.index()] = chunkResult);
+            } catch (RuntimeException exception) {
+                failChunk(chunk, index -> flightDtos.get(index).id(), exception, results);
+            }
+        }
+        return toResponse(results);
+    }
+
+    public BulkFlightResponse deleteFlights(final List<Long> ids) {
+        checkBulkSize(ids);
+        final BulkFlightResult[] results = new BulkFlightResult[ids.size()];
+
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int index = 0; index < ids.size(); index++) {
+            if(ids.get(index) == null) {
+                results[index] = result(index, null, BulkItemStatus.INVALID, List.of("Flight id cannot be null."));
+            } else {
+                validIndexes.add(index);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(validIndexes)) {
+            try {
+                Set<Long> deletedIds = transaction.execute(status -> {
+                    Set<Long> existingIds = new HashSet<>(flightRepository.findExistingIds(chunk.stream().map(ids::get).toList()));
+                    if(!existingIds.isEmpty()) {
+                        flightRepository.deleteAllByIdInBatch(existingIds);
+                    }
+                    return existingIds;
+                });
+                for (Integer index : chunk) {
+                    Long id = ids.get(index);
+                    if(deletedIds.contains(id)) {
+                        flightRouteIndex.remove(id);
+                        results[index] = result(index, id, BulkItemStatus.DELETED, null);
+                    } else {
+                        results[index] = result(index, id, BulkItemStatus.NOT_FOUND, List.of("Flight not found"));
+                    }
+                }
+                if(!deletedIds.isEmpty()) {
+                    flightChangeTracker.flightsChanged();
+                }
+            } catch (RuntimeException exception) {
+                failChunk(chunk, ids::get, exception, results);
+            }
+        }
+        return toResponse(results);
+    }
+
+    /**
+     * Applies the same rules as the single flight endpoints: the FlightDto constraints and departure before arrival.
+     */
+    public List<String> validate(final FlightDto flightDto, final boolean idRequired) {
+        if(flightDto == null) {
+            return List.of("Flight cannot be null.");
+        }
+        List<String> errors = new ArrayList<>(validator.validate(flightDto).stream().map(ConstraintViolation::getMessage).toList());
+        if(idRequired && flightDto.id() == null) {
+            errors.add("Flight id cannot be null.");
+        }
+        if(errors.isEmpty() && !UtcDateTimeCodec.parse(flightDto.departureTime())
+                .isBefore(UtcDateTimeCodec.parse(flightDto.arrivalTime()))) {
+            errors.add("Invalid departure and arrival time.");
+        }
+        return errors;
+    }
+
+    private List<Integer> validate(final List<FlightDto> flightDtos, final boolean idRequired, final BulkFlightResult[] results) {
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int index = 0; index < flightDtos.size(); index++) {
+            FlightDto flightDto = flightDtos.get(index);
+            List<String> errors = validate(flightDto, idRequired);
+            if(errors.isEmpty()) {
+                validIndexes.add(index);
+            } else {
+                results[index] = result(index, flightDto != null ? flightDto.id() : null, BulkItemStatus.INVALID, errors);
+            }
+        }
+        return validIndexes;
+    }
+
+    private void checkBulkSize(final List<?> items) {
+        if(items == null || items.isEmpty()) {
+            throw new ValidationException("At least one flight is required.");
+        }
+        if(items.size() > flightBulkProperties.maxItems()) {
+            throw new ValidationException("At most " + flightBulkProperties.maxItems() + " flights can be sent at once.");
+        }
+    }
+
+    private List<List<Integer>> chunks(final List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += flightBulkProperties.chunkSize()) {
+            chunks.add(indexes.subList(from, Math.min(from + flightBulkProperties.chunkSize(), indexes.size())));
+        }
+        return chunks;
+    }
+
+    private static void failChunk(final List<Integer> chunk, final Function<Integer, Long> idOf,
+                                  final RuntimeException exception, final BulkFlightResult[] results) {
+        log.error("Bulk write of {} flights failed - {}", chunk.size(), exception.getMessage());
+        for (Integer index : chunk) {
+            results[index] = result(index, idOf.apply(index), BulkItemStatus.FAILED, List.of("Flight could not be saved."));
+        }
+    }
+
+    private static BulkFlightResult result(final int index, final Long id, final BulkItemStatus status, final List<String> errors) {
+        return BulkFlightResult.builder().index(index).id(id).status(status).errors(errors).build();
+    }
+
+    private static BulkFlightResponse toResponse(final BulkFlightResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(result -> result.errors() == null).count();
+        return BulkFlightResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(List.of(results))
+                .build();
+    }
+}
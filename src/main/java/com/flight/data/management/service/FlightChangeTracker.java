@@ -0,0 +1,60 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightETagProperties;
+import com.flight.data.management.model.FlightSearchDto;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data version of the flights, bumped after every committed flight write, and the ETags derived from it. An ETag is
+ * taken before the read it describes, so a write racing with the read can only make the ETag older than the data,
+ * never newer. The version lives in this instance only and starts again on restart, so the ETags also carry the
+ * instance start time. The ETags are weak: the same data is sent as JSON, CBOR or Smile, gzipped or not.
+ */
+@Component
+public class FlightChangeTracker {
+
+    private final String instanceId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final FlightETagProperties flightETagProperties;
+
+    public FlightChangeTracker(final FlightETagProperties flightETagProperties) {
+        this.flightETagProperties = flightETagProperties;
+    }
+
+    public void flightsChanged() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * ETag of the flight list pages, null when conditional reads are disabled.
+     */
+    public String listETag() {
+        if(!flightETagProperties.enabled()) {
+            return null;
+        }
+        return quote(instanceId + "-" + version.get());
+    }
+
+    /**
+     * ETag of the search result for this request, null when conditional reads are disabled. Changes with the flight
+     * data, the request and the supplier window.
+     */
+    public String searchETag(final FlightSearchDto flightSearchDto) {
+        if(!flightETagProperties.enabled()) {
+            return null;
+        }
+        long supplierWindow = System.currentTimeMillis() / flightETagProperties.supplierWindow().toMillis();
+        String request = DigestUtils.md5DigestAsHex(flightSearchDto.toString().getBytes(StandardCharsets.UTF_8));
+        return quote(instanceId + "-" + version.get() + "-" + supplierWindow + "-" + request);
+    }
+
+    private static String quote(final String value) {
+        return "W/\"" + value + "\"";
+    }
+}
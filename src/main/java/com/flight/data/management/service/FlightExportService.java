@@ -0,0 +1,58 @@
+package com.flight.data.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+public class FlightExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private FlightRepository flightRepository;
+
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes every flight as newline-delimited JSON. Rows are read through a cursor and detached once written,
+     * so memory use does not depend on the table size.
+     */
+    @Transactional(readOnly = true)
+    public void exportFlights(final OutputStream outputStream) throws IOException {
+        final ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Stream<Flight> flights = flightRepository.streamAllFlights();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Flight> iterator = flights.iterator();
+            while (iterator.hasNext()) {
+                Flight flight = iterator.next();
+                writer.writeValue(generator, FlightService.getFlightDto(flight));
+                generator.writeRaw('\n');
+                entityManager.detach(flight);
+                if(++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Exported {} flights", count);
+    }
+}
@@ -0,0 +1,217 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightRouteIndexProperties;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory search index of the flight table. Flights are grouped per (departure airport, destination airport)
+ * route and sorted by departure time, so a search is a hash lookup followed by a range scan.
+ * <p>
+ * Reads are lock free. Writes are serialized so that the id lookup and the route maps stay in step. Writes arrive
+ * after their commit, so two writes of the same flight, or a write and the build scan, can arrive out of commit
+ * order. A flight older than the indexed version is ignored. A deleted id is kept as a tombstone, so neither a
+ * late write nor the build brings the flight back. Ids come from a sequence and are never reused.
+ */
+@Component
+@Slf4j
+public class FlightRouteIndex {
+
+    private final FlightRepository flightRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final boolean enabled;
+
+    private final Map<Route, NavigableMap<DepartureKey, IndexedFlight>> routes = new ConcurrentHashMap<>();
+
+    private final Map<Long, IndexedFlight> flightsById = new ConcurrentHashMap<>();
+
+    private final Set<Long> deletedIds = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    private volatile Instant builtAt;
+
+    private volatile RuntimeException buildFailure;
+
+    public FlightRouteIndex(final FlightRepository flightRepository,
+                            final PlatformTransactionManager transactionManager,
+                            final FlightRouteIndexProperties flightRouteIndexProperties) {
+        this.flightRepository = flightRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = flightRouteIndexProperties.enabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if(!enabled) {
+            return;
+        }
+        log.info("Building flight route index");
+        AtomicLong count = new AtomicLong();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Flight> flights = flightRepository.streamAllFlights()) {
+                    //A write made while the index is building is at least as new as the streamed row, keep it
+                    flights.forEach(flight -> {
+                        index(flight, true);
+                        count.incrementAndGet();
+                    });
+                }
+            });
+        } catch (RuntimeException exception) {
+            //The index stays not ready, so searches keep reading from the database
+            buildFailure = exception;
+            log.error("Flight route index build failed, searching the database instead", exception);
+            return;
+        }
+        builtAt = Instant.now();
+        ready = true;
+        log.info("Flight route index built with {} flights on {} routes", count.get(), routes.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public RuntimeException getBuildFailure() {
+        return buildFailure;
+    }
+
+    public int size() {
+        return flightsById.size();
+    }
+
+    public void put(final Flight flight) {
+        if(enabled) {
+            index(flight, false);
+        }
+    }
+
+    public void remove(final Long id) {
+        if(!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            deletedIds.add(id);
+            IndexedFlight removed = flightsById.remove(id);
+            if(removed != null) {
+                removeFromRoute(removed);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Same predicate as {@code FlightRepository.searchFlights}: optional airline, exact route,
+     * departure on or after the start and arrival on or before the end of the window.
+     */
+    public List<FlightDto> searchFlights(final String airline, final String departureAirport, final String destinationAirport,
+                                         final Instant departureTime, final Instant arrivalTime) {
+        NavigableMap<DepartureKey, IndexedFlight> route = routes.get(new Route(departureAirport, destinationAirport));
+        if(route == null) {
+            return List.of();
+        }
+
+        if(departureTime.isAfter(arrivalTime)) {
+            return List.of();
+        }
+
+        //A flight arriving by the end of the window also departs before it
+        List<FlightDto> flights = new ArrayList<>();
+        for (IndexedFlight flight : route.subMap(new DepartureKey(departureTime, Long.MIN_VALUE), true,
+                new DepartureKey(arrivalTime, Long.MAX_VALUE), true).values()) {
+            if(!flight.arrivalTime().isAfter(arrivalTime) && (airline == null || airline.equals(flight.flightDto().airline()))) {
+                flights.add(flight.flightDto());
+            }
+        }
+        return flights;
+    }
+
+    private void index(final Flight flight, final boolean fromBuild) {
+        IndexedFlight indexedFlight = new IndexedFlight(
+                new Route(flight.getDepartureAirport(), flight.getDestinationAirport()),
+                new DepartureKey(flight.getDepartureTime(), flight.getId()),
+                flight.getArrivalTime(),
+                flight.getVersion(),
+                FlightService.getFlightDto(flight));
+
+        writeLock.lock();
+        try {
+            if(deletedIds.contains(flight.getId())) {
+                return;
+            }
+            IndexedFlight previous = flightsById.get(flight.getId());
+            if(previous != null) {
+                if(isOlder(indexedFlight, previous, fromBuild)) {
+                    return;
+                }
+                removeFromRoute(previous);
+            }
+            flightsById.put(flight.getId(), indexedFlight);
+            routes.computeIfAbsent(indexedFlight.route(), route -> new ConcurrentSkipListMap<>())
+                    .put(indexedFlight.departureKey(), indexedFlight);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    //Without versions to compare, a later write wins over the build and the build never replaces a flight
+    private static boolean isOlder(final IndexedFlight flight, final IndexedFlight previous, final boolean fromBuild) {
+        if(flight.version() == null || previous.version() == null) {
+            return fromBuild;
+        }
+        return flight.version() < previous.version();
+    }
+
+    private void removeFromRoute(final IndexedFlight indexedFlight) {
+        NavigableMap<DepartureKey, IndexedFlight> route = routes.get(indexedFlight.route());
+        if(route != null) {
+            route.remove(indexedFlight.departureKey());
+        }
+    }
+
+    private record Route(String departureAirport, String destinationAirport) {
+    }
+
+    private record DepartureKey(Instant departureTime, long id) implements Comparable<DepartureKey> {
+
+        @Override
+        public int compareTo(final DepartureKey other) {
+            int result = departureTime.compareTo(other.departureTime);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+    }
+
+    private record IndexedFlight(Route route, DepartureKey departureKey, Instant arrivalTime, Long version, FlightDto flightDto) {
+    }
+}
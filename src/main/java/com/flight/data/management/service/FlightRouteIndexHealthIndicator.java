@@ -0,0 +1,49 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightRouteIndexProperties;
+import com.flight.data.management.repository.FlightRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Reports whether the route index is built. The database and index counts are read one after the other while
+ * writes go on, so their difference is reported as a detail and does not change the status.
+ */
+@Component
+@AllArgsConstructor
+public class FlightRouteIndexHealthIndicator implements HealthIndicator {
+
+    private FlightRouteIndex flightRouteIndex;
+
+    private FlightRepository flightRepository;
+
+    private FlightRouteIndexProperties flightRouteIndexProperties;
+
+    @Override
+    public Health health() {
+        if(!flightRouteIndexProperties.enabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        if(flightRouteIndex.getBuildFailure() != null) {
+            return Health.down(flightRouteIndex.getBuildFailure()).withDetail("ready", false).build();
+        }
+        if(!flightRouteIndex.isReady()) {
+            return Health.outOfService().withDetail("ready", false).build();
+        }
+
+        int indexCount = flightRouteIndex.size();
+        long databaseCount = flightRepository.count();
+        return Health.up()
+                .withDetail("databaseFlights", databaseCount)
+                .withDetail("indexedFlights", indexCount)
+                .withDetail("drift", databaseCount - indexCount)
+                .withDetail("builtAt", flightRouteIndex.getBuiltAt())
+                .withDetail("age", Duration.between(flightRouteIndex.getBuiltAt(), Instant.now()).toString())
+                .build();
+    }
+}
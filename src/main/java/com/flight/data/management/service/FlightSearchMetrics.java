@@ -0,0 +1,164 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightSearchMetricsProperties;
+import com.flight.data.management.model.FlightSearchDto;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Search pipeline metrics, all tagged with the route class and published as percentile histograms:
+ * <ul>
+ *     <li>flight.search.phase - time per phase (validation, database, supplier, mapping, merge)</li>
+ *     <li>flight.search.results - number of flights returned per source</li>
+ *     <li>flight.search.supplier.calls - outcome per supplier and search (success, timeout, breaker_open,
+ *     bulkhead_full, error), the resilience4j meters of the supplier gateways give the per call detail</li>
+ * </ul>
+ */
+@Component
+public class FlightSearchMetrics {
+
+    static final String PHASE_TIMER = "flight.search.phase";
+
+    static final String RESULTS_SUMMARY = "flight.search.results";
+
+    static final String SUPPLIER_CALLS_COUNTER = "flight.search.supplier.calls";
+
+    static final String VALIDATION = "validation";
+
+    static final String DATABASE = "database";
+
+    static final String SUPPLIER = "supplier";
+
+    static final String MAPPING = "mapping";
+
+    static final String MERGE = "merge";
+
+    static final String SUCCESS = "success";
+
+    static final String TIMEOUT = "timeout";
+
+    static final String BREAKER_OPEN = "breaker_open";
+
+    static final String BULKHEAD_FULL = "bulkhead_full";
+
+    static final String ERROR = "error";
+
+    static final String OTHER_ROUTES = "other";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> hotRoutes;
+
+    //Meters are looked up on every search, keep them instead of going through the builders each time
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public FlightSearchMetrics(final MeterRegistry meterRegistry, final FlightSearchMetricsProperties flightSearchMetricsProperties) {
+        this.meterRegistry = meterRegistry;
+        this.hotRoutes = flightSearchMetricsProperties.hotRoutes().stream().map(String::toUpperCase).collect(Collectors.toSet());
+    }
+
+    public String routeClass(final String departureAirport, final String destinationAirport) {
+        if(departureAirport == null || destinationAirport == null) {
+            return OTHER_ROUTES;
+        }
+        String route = departureAirport.toUpperCase() + "-" + destinationAirport.toUpperCase();
+        return hotRoutes.contains(route) ? route : OTHER_ROUTES;
+    }
+
+    public <T> T time(final String phase, final String routeClass, final Supplier<T> supplier) {
+        return timer(phase, routeClass).record(supplier);
+    }
+
+    /**
+     * Times a phase that runs asynchronously, from the call until the returned future completes either way.
+     */
+    public <T> CompletableFuture<T> timeAsync(final String phase, final String routeClass, final Supplier<CompletableFuture<T>> supplier) {
+        final Timer timer = timer(phase, routeClass);
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        return supplier.get().whenComplete((result, exception) -> sample.stop(timer));
+    }
+
+    public void recordResults(final String source, final String routeClass, final int count) {
+        summaries.computeIfAbsent(source + "|" + routeClass, key -> DistributionSummary.builder(RESULTS_SUMMARY)
+                        .baseUnit("flights")
+                        .tag("source", source)
+                        .tag("route", routeClass)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(count);
+    }
+
+    /**
+     * Records the outcome of a supplier search from the way it completed, a null exception being a success.
+     */
+    public void recordSupplierOutcome(final String supplier, final String routeClass, final Throwable exception) {
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+        String outcome;
+        if(cause == null) {
+            outcome = SUCCESS;
+        } else if(cause instanceof TimeoutException) {
+            outcome = TIMEOUT;
+        } else if(cause instanceof CallNotPermittedException) {
+            outcome = BREAKER_OPEN;
+        } else if(cause instanceof BulkheadFullException) {
+            outcome = BULKHEAD_FULL;
+        } else {
+            outcome = ERROR;
+        }
+        countSupplierCall(supplier, outcome, routeClass);
+    }
+
+    /**
+     * Wraps the validators of a search request binder so that bean validation, which runs before the controller
+     * method, is timed as the validation phase.
+     */
+    public void timeValidation(final WebDataBinder binder) {
+        if(!(binder.getTarget() instanceof FlightSearchDto flightSearchDto)) {
+            return;
+        }
+        final String routeClass = routeClass(flightSearchDto.departureAirport(), flightSearchDto.destinationAirport());
+        final List<Validator> validators = List.copyOf(binder.getValidators());
+        binder.replaceValidators(Validator.forInstanceOf(FlightSearchDto.class, (target, errors) -> time(VALIDATION, routeClass, () -> {
+            validators.forEach(validator -> validator.validate(target, errors));
+            return errors;
+        })));
+    }
+
+    private Timer timer(final String phase, final String routeClass) {
+        return timers.computeIfAbsent(phase + "|" + routeClass, key -> Timer.builder(PHASE_TIMER)
+                .tag("phase", phase)
+                .tag("route", routeClass)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private void countSupplierCall(final String supplier, final String outcome, final String routeClass) {
+        counters.computeIfAbsent(supplier + "|" + outcome + "|" + routeClass, key -> Counter.builder(SUPPLIER_CALLS_COUNTER)
+                        .tag("supplier", supplier)
+                        .tag("outcome", outcome)
+                        .tag("route", routeClass)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
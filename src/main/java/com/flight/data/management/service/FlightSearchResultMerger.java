@@ -0,0 +1,145 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightSortOrder;
+import com.flight.data.management.util.UtcDateTimeCodec;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Orders, de-duplicates and trims search results. Flights with the same airline, route and times are duplicates,
+ * only the cheapest of them is kept.
+ * <p>
+ * With a sort order every source is ranked on its own, on the thread that completed it: de-duplicated and cut to
+ * its best limit flights with a bounded heap. The merge then walks the heads of the presorted sources until the
+ * limit is reached, so the union of all sources is never sorted. Without a sort order flights keep the source order.
+ */
+final class FlightSearchResultMerger {
+
+    private FlightSearchResultMerger() {
+    }
+
+    static List<RankedFlight> rank(final List<FlightDto> flights, final FlightSortOrder sortOrder, final int limit) {
+        List<RankedFlight> rankedFlights = cheapestPerKey(flights.stream().map(RankedFlight::of).toList());
+        if(sortOrder == null) {
+            //Cannot be cut yet, a later source may offer a cheaper duplicate of any of these flights
+            return rankedFlights;
+        }
+        Comparator<RankedFlight> comparator = comparator(sortOrder);
+        if(rankedFlights.size() <= limit) {
+            rankedFlights.sort(comparator);
+            return rankedFlights;
+        }
+        //Keep the best limit flights, the worst of them on top of the heap
+        PriorityQueue<RankedFlight> best = new PriorityQueue<>(limit, comparator.reversed());
+        for(RankedFlight rankedFlight : rankedFlights) {
+            if(best.size() < limit) {
+                best.add(rankedFlight);
+            } else if(comparator.compare(rankedFlight, best.peek()) < 0) {
+                best.poll();
+                best.add(rankedFlight);
+            }
+        }
+        List<RankedFlight> topFlights = new ArrayList<>(best);
+        topFlights.sort(comparator);
+        return topFlights;
+    }
+
+    static List<FlightDto> merge(final List<List<RankedFlight>> sources, final FlightSortOrder sortOrder, final int limit) {
+        if(sortOrder == null) {
+            List<RankedFlight> rankedFlights = cheapestPerKey(sources.stream().flatMap(List::stream).toList());
+            return rankedFlights.stream().limit(limit).map(RankedFlight::flight).toList();
+        }
+
+        Comparator<RankedFlight> comparator = comparator(sortOrder);
+        PriorityQueue<SourceCursor> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                Comparator.comparing(SourceCursor::current, comparator));
+        int total = 0;
+        for(List<RankedFlight> source : sources) {
+            total += source.size();
+            SourceCursor cursor = new SourceCursor(source.iterator());
+            if(cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+
+        List<FlightDto> flights = new ArrayList<>(Math.min(limit, total));
+        Set<FlightKey> mergedKeys = new HashSet<>();
+        while(!heads.isEmpty() && flights.size() < limit) {
+            SourceCursor cursor = heads.poll();
+            //Duplicates tie on the sort key, so the fare tie-break brings the cheapest of them first
+            if(mergedKeys.add(cursor.current().key())) {
+                flights.add(cursor.current().flight());
+            }
+            if(cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return flights;
+    }
+
+    private static List<RankedFlight> cheapestPerKey(final List<RankedFlight> rankedFlights) {
+        //A cheaper duplicate takes the place of the first one seen
+        Map<FlightKey, RankedFlight> cheapest = new LinkedHashMap<>();
+        rankedFlights.forEach(rankedFlight -> cheapest.merge(rankedFlight.key(), rankedFlight,
+                (seen, duplicate) -> duplicate.flight().fare().compareTo(seen.flight().fare()) < 0 ? duplicate : seen));
+        return new ArrayList<>(cheapest.values());
+    }
+
+    private static Comparator<RankedFlight> comparator(final FlightSortOrder sortOrder) {
+        Comparator<RankedFlight> primary = switch(sortOrder) {
+            case FARE -> Comparator.comparing(rankedFlight -> rankedFlight.flight().fare());
+            case DEPARTURE_TIME -> Comparator.comparing(rankedFlight -> rankedFlight.key().departureTime());
+            case DURATION -> Comparator.comparing(RankedFlight::duration);
+        };
+        return primary.thenComparing(rankedFlight -> rankedFlight.flight().fare())
+                .thenComparing(rankedFlight -> rankedFlight.key().departureTime());
+    }
+
+    /**
+     * A flight with its sort and de-duplication keys, parsed once per flight instead of on every comparison.
+     */
+    record RankedFlight(FlightDto flight, FlightKey key, Duration duration) {
+
+        static RankedFlight of(final FlightDto flight) {
+            Instant departureTime = UtcDateTimeCodec.parse(flight.departureTime());
+            Instant arrivalTime = UtcDateTimeCodec.parse(flight.arrivalTime());
+            return new RankedFlight(flight, new FlightKey(flight.airline(), flight.departureAirport(), flight.destinationAirport(),
+                    departureTime, arrivalTime), Duration.between(departureTime, arrivalTime));
+        }
+    }
+
+    private record FlightKey(String airline, String departureAirport, String destinationAirport,
+                             Instant departureTime, Instant arrivalTime) {
+    }
+
+    private static final class SourceCursor {
+
+        private final Iterator<RankedFlight> flights;
+
+        private RankedFlight current;
+
+        private SourceCursor(final Iterator<RankedFlight> flights) {
+            this.flights = flights;
+        }
+
+        private RankedFlight current() {
+            return current;
+        }
+
+        private boolean advance() {
+            current = flights.hasNext() ? flights.next() : null;
+            return current != null;
+        }
+    }
+}
@@ -1,141 +1,427 @@
 package com.flight.data.management.service;
 
-import com.flight.data.management.exception.CrazySupplierException;
+import com.flight.data.management.config.FlightPageProperties;
+import com.flight.data.management.config.FlightRouteIndexProperties;
+import com.flight.data.management.config.FlightSearchProperties;
+import com.flight.data.management.exception.ConflictException;
 import com.flight.data.management.exception.ResourceNotFoundException;
+import com.flight.data.management.exception.ValidationException;
 import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightResponse;
+import com.flight.data.management.model.FlightSearchBatch;
 import com.flight.data.management.model.FlightSearchDto;
+import com.flight.data.management.model.FlightSearchSourceStatus;
+import com.flight.data.management.model.SearchSourceStatus;
 import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.model.projection.FlightProjection;
 import com.flight.data.management.repository.FlightRepository;
-import com.flight.data.management.service.client.CrazySupplierClient;
-import com.flight.data.management.service.client.CrazySupplierFlightRequest;
-import com.flight.data.management.service.client.CrazySupplierFlightResponse;
-import feign.RetryableException;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import com.flight.data.management.repository.FlightSearchCriteria;
+import com.flight.data.management.service.FlightSearchResultMerger.RankedFlight;
+import com.flight.data.management.util.UtcDateTimeCodec;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.RoundingMode;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 @Slf4j
 public class FlightService {
 
+    static final String DATABASE_SOURCE = "Database";
+
+    private static final String FLIGHT_CONFLICT_MESSAGE = "Flight was updated by another request, read it again and retry.";
+
     private FlightRepository flightRepository;
 
-    private CrazySupplierClient crazySupplierClient;
+    private FlightSupplierAggregator flightSupplierAggregator;
+
+    private Executor flightSearchExecutor;
+
+    private FlightSearchProperties flightSearchProperties;
+
+    private FlightPageProperties flightPageProperties;
+
+    private FlightRouteIndex flightRouteIndex;
+
+    private FlightRouteIndexProperties flightRouteIndexProperties;
 
-    public List<FlightDto> getFlights() {
-        return flightRepository.findAll().stream().map(FlightService::getFlightDto
-            ).toList();
+    private FlightSearchMetrics flightSearchMetrics;
+
+    private FlightChangeTracker flightChangeTracker;
+
+    private TransactionTemplate transactionTemplate;
+
+    public FlightResponse getFlights(final String cursor, final Integer pageSize) {
+        final int size = pageSize != null ? pageSize : flightPageProperties.defaultSize();
+        if(size < 1 || size > flightPageProperties.maxSize()) {
+            throw new ValidationException("Page size must be between 1 and " + flightPageProperties.maxSize() + ".");
+        }
+
+        //Fetch one extra row to know whether there is a next page
+        List<FlightProjection> page = flightRepository.findFlightPage(decodeCursor(cursor), Limit.of(size + 1));
+        List<FlightDto> flights = page.stream().limit(size).map(FlightService::getFlightDto).toList();
+        String nextCursor = page.size() > size ? encodeCursor(flights.get(size - 1).id()) : null;
+
+        return FlightResponse.builder().flightDtoList(flights).nextCursor(nextCursor).build();
     }
 
     public FlightDto createFlight(final FlightDto flightDto) {
-        ZonedDateTime utcNow = ZonedDateTime.now(ZoneOffset.UTC);
-        Flight flight = Flight.builder()
+        Flight savedFlight = flightRepository.save(newFlight(flightDto, Instant.now()));
+        flightRouteIndex.put(savedFlight);
+        flightChangeTracker.flightsChanged();
+        return getFlightDto(savedFlight);
+    }
+
+    /**
+     * Loads the flight, from the second-level cache when it is cached, and writes it back in one UPDATE checked
+     * against its version. With a version in the flight details the update only applies to that version, without a
+     * version it applies to the version just loaded. A flight updated by another request in between is a conflict
+     * either way. Only this flight is evicted from the cache.
+     */
+    public FlightDto updateFlight(final Long id, final FlightDto flightDto) {
+        final Flight updatedFlight;
+        try {
+            updatedFlight = transactionTemplate.execute(status -> {
+                Flight flight = flightRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Flight not found"));
+                if(flightDto.version() != null && !flightDto.version().equals(flight.getVersion())) {
+                    throw new ConflictException(FLIGHT_CONFLICT_MESSAGE);
+                }
+                applyFlightDto(flight, flightDto, Instant.now());
+                //Flushed here, so the returned flight carries the new version
+                return flightRepository.saveAndFlush(flight);
+            });
+        } catch (OptimisticLockingFailureException exception) {
+            throw new ConflictException(FLIGHT_CONFLICT_MESSAGE);
+        }
+        flightRouteIndex.put(updatedFlight);
+        flightChangeTracker.flightsChanged();
+
+        return getFlightDto(updatedFlight);
+    }
+
+    public void deleteFlight(final Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> flightRepository.delete(flightRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Flight not found"))));
+        } catch (OptimisticLockingFailureException exception) {
+            throw new ConflictException(FLIGHT_CONFLICT_MESSAGE);
+        }
+        flightRouteIndex.remove(id);
+        flightChangeTracker.flightsChanged();
+    }
+
+    public FlightResponse searchFlights(final FlightSearchDto flightSearchDto) {
+        try {
+            return searchFlightsAsync(flightSearchDto).join();
+        } catch (CompletionException exception) {
+            if(exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Searches the database and every enabled supplier without blocking the caller. The database is queried on the
+     * search executor, the suppliers through the supplier aggregator, and the result is merged on whichever thread
+     * completes last. Each source is ranked for the requested sort and limit as soon as it completes, see
+     * {@link FlightSearchResultMerger}.
+     */
+    public CompletableFuture<FlightResponse> searchFlightsAsync(final FlightSearchDto flightSearchDto) {
+        final String routeClass = flightSearchMetrics.routeClass(flightSearchDto.departureAirport(), flightSearchDto.destinationAirport());
+        if(!flightSearchProperties.concurrent()) {
+            try {
+                return CompletableFuture.completedFuture(searchFlightsSequentially(flightSearchDto, routeClass));
+            } catch (RuntimeException exception) {
+                return CompletableFuture.failedFuture(exception);
+            }
+        }
+
+        //Start all sources at once, each source has its own deadline
+        CompletableFuture<List<FlightDto>> databaseSearch = searchDatabaseFlightsAsync(flightSearchDto, routeClass);
+        Map<String, CompletableFuture<List<FlightDto>>> supplierSearches = flightSupplierAggregator.searchFlights(flightSearchDto, routeClass);
+
+        //Merge whatever finished in time
+        CompletableFuture<List<RankedFlight>> rankedDatabaseSearch = rankSearch(flightSearchDto, databaseSearch);
+        Map<String, CompletableFuture<List<RankedFlight>>> rankedSupplierSearches = rankSearches(flightSearchDto, supplierSearches);
+        List<CompletableFuture<List<RankedFlight>>> searches = new ArrayList<>(rankedSupplierSearches.size() + 1);
+        searches.add(rankedDatabaseSearch);
+        searches.addAll(rankedSupplierSearches.values());
+        return CompletableFuture.allOf(searches.stream().map(search -> search.exceptionally(exception -> null)).toArray(CompletableFuture[]::new))
+                .thenApply(completed -> collectSearchResults(flightSearchDto, routeClass, rankedDatabaseSearch, rankedSupplierSearches));
+    }
+
+    /**
+     * Searches all sources at once and hands each source result to the batch consumer as soon as it is ready, the
+     * database flights first and then the supplier flights in the order the suppliers complete. A source that times
+     * out or fails is reported in the returned statuses instead of failing the search, so the flights already handed
+     * out stay valid. The batch consumer is called from the thread completing the source. Each batch is sorted,
+     * de-duplicated and limited on its own, duplicates across batches cannot be collapsed once sent.
+     */
+    public CompletableFuture<List<FlightSearchSourceStatus>> searchFlightsProgressively(final FlightSearchDto flightSearchDto,
+                                                                                       final Consumer<FlightSearchBatch> batchConsumer) {
+        final String routeClass = flightSearchMetrics.routeClass(flightSearchDto.departureAirport(), flightSearchDto.destinationAirport());
+        CompletableFuture<List<FlightDto>> databaseSearch = searchDatabaseFlightsAsync(flightSearchDto, routeClass);
+        Map<String, CompletableFuture<List<FlightDto>>> supplierSearches = flightSupplierAggregator.searchFlights(flightSearchDto, routeClass);
+
+        List<CompletableFuture<FlightSearchSourceStatus>> batches = new ArrayList<>(supplierSearches.size() + 1);
+        CompletableFuture<FlightSearchSourceStatus> databaseBatch = rankSearch(flightSearchDto, databaseSearch)
+                .handle((flights, exception) -> publishBatch(DATABASE_SOURCE, flights, exception, batchConsumer));
+        batches.add(databaseBatch);
+        //A supplier that answers before the database waits for the database batch to go out first
+        rankSearches(flightSearchDto, supplierSearches).forEach((supplier, search) -> batches.add(databaseBatch.thenCompose(databaseStatus -> search)
+                .handle((flights, exception) -> publishBatch(supplier, flights, exception, batchConsumer))));
+
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                .thenApply(completed -> batches.stream().map(CompletableFuture::join).toList());
+    }
+
+    private FlightResponse searchFlightsSequentially(final FlightSearchDto flightSearchDto, final String routeClass) {
+        List<FlightDto> databaseFlights = searchDatabaseFlights(flightSearchDto, routeClass);
+        //The supplier deadlines still apply, a timed out or failed supplier is left out of the result as in the concurrent search
+        return collectSearchResults(flightSearchDto, routeClass, rankSearch(flightSearchDto, CompletableFuture.completedFuture(databaseFlights)),
+                rankSearches(flightSearchDto, flightSupplierAggregator.searchFlights(flightSearchDto, routeClass)));
+    }
+
+    private FlightResponse collectSearchResults(final FlightSearchDto flightSearchDto, final String routeClass,
+                                                final CompletableFuture<List<RankedFlight>> databaseSearch,
+                                                final Map<String, CompletableFuture<List<RankedFlight>>> supplierSearches) {
+        List<String> timedOutSources = new ArrayList<>();
+        List<String> failedSources = new ArrayList<>();
+        List<List<RankedFlight>> results = new ArrayList<>(supplierSearches.size() + 1);
+        //A failed database search fails the whole search, a failed supplier only drops its own flights
+        results.add(collectSearchResult(DATABASE_SOURCE, databaseSearch, timedOutSources, null));
+        supplierSearches.forEach((supplier, search) -> results.add(collectSearchResult(supplier, search, timedOutSources, failedSources)));
+        return mergeSearchResults(flightSearchDto, routeClass, results, timedOutSources, failedSources);
+    }
+
+    private FlightResponse mergeSearchResults(final FlightSearchDto flightSearchDto, final String routeClass,
+                                              final List<List<RankedFlight>> results, final List<String> timedOutSources,
+                                              final List<String> failedSources) {
+        return flightSearchMetrics.time(FlightSearchMetrics.MERGE, routeClass, () -> FlightResponse.builder()
+                //Combine flight search result from the Database and every supplier
+                .flightDtoList(FlightSearchResultMerger.merge(results, flightSearchDto.sortBy(), searchLimit(flightSearchDto)))
+                .timedOutSources(timedOutSources.isEmpty() ? null : timedOutSources)
+                .failedSources(failedSources.isEmpty() ? null : failedSources)
+                .build());
+    }
+
+    private static Map<String, CompletableFuture<List<RankedFlight>>> rankSearches(final FlightSearchDto flightSearchDto,
+                                                                                final Map<String, CompletableFuture<List<FlightDto>>> supplierSearches) {
+        final FlightSearchCriteria criteria = getFlightSearchCriteria(flightSearchDto);
+        Map<String, CompletableFuture<List<RankedFlight>>> rankedSearches = new LinkedHashMap<>();
+        //Suppliers only search by route and time window, the other filters are applied to their flights here
+        supplierSearches.forEach((supplier, search) -> rankedSearches.put(supplier, rankSearch(flightSearchDto, criteria.hasFilters()
+                ? search.thenApply(flights -> flights.stream().filter(criteria::matches).toList()) : search)));
+        return rankedSearches;
+    }
+
+    private static CompletableFuture<List<RankedFlight>> rankSearch(final FlightSearchDto flightSearchDto,
+                                                                   final CompletableFuture<List<FlightDto>> search) {
+        return search.thenApply(flights -> FlightSearchResultMerger.rank(flights, flightSearchDto.sortBy(), searchLimit(flightSearchDto)));
+    }
+
+    private static int searchLimit(final FlightSearchDto flightSearchDto) {
+        return flightSearchDto.limit() != null ? flightSearchDto.limit() : Integer.MAX_VALUE;
+    }
+
+    //Throws RejectedExecutionException when the search executor is saturated, before any supplier is called
+    private CompletableFuture<List<FlightDto>> searchDatabaseFlightsAsync(final FlightSearchDto flightSearchDto, final String routeClass) {
+        return CompletableFuture
+                .supplyAsync(() -> searchDatabaseFlights(flightSearchDto, routeClass), flightSearchExecutor)
+                .orTimeout(flightSearchProperties.databaseTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private List<FlightDto> searchDatabaseFlights(final FlightSearchDto flightSearchDto, final String routeClass) {
+        final FlightSearchCriteria criteria = getFlightSearchCriteria(flightSearchDto);
+        List<FlightDto> flights;
+        if(!flightRouteIndex.isReady()) {
+            flights = queryDatabaseFlights(criteria, routeClass);
+        } else {
+            log.debug("Search flights from route index");
+            flights = flightSearchMetrics.time(FlightSearchMetrics.DATABASE, routeClass, () -> {
+                List<FlightDto> indexFlights = flightRouteIndex.searchFlights(criteria.airline(), criteria.departureAirport(),
+                        criteria.destinationAirport(), criteria.departureTime(), criteria.arrivalTime());
+                return criteria.hasFilters() ? indexFlights.stream().filter(criteria::matches).toList() : indexFlights;
+            });
+            if(flightRouteIndexProperties.shadowCheck()) {
+                //The index result is not limited, so neither is the query it is checked against
+                verifyRouteIndexResult(flights, queryDatabaseFlights(criteria.toBuilder().limit(null).build(), routeClass));
+            }
+        }
+        flightSearchMetrics.recordResults(DATABASE_SOURCE, routeClass, flights.size());
+        return flights;
+    }
+
+    private List<FlightDto> queryDatabaseFlights(final FlightSearchCriteria criteria, final String routeClass) {
+        log.debug("Search flights from database");
+        List<FlightProjection> flights = flightSearchMetrics.time(FlightSearchMetrics.DATABASE, routeClass,
+                () -> searchDistinctFlights(criteria));
+        return flightSearchMetrics.time(FlightSearchMetrics.MAPPING, routeClass,
+                () -> flights.stream().map(FlightService::getFlightDto).toList());
+    }
+
+    /**
+     * Duplicates count against the query limit but are collapsed by the merge, so a limited query that comes back
+     * full with fewer distinct flights than the limit is repeated with twice the limit, until it has enough distinct
+     * flights or runs out of rows. In sort order the first limit distinct flights are then the ones the merge keeps.
+     */
+    private List<FlightProjection> searchDistinctFlights(final FlightSearchCriteria criteria) {
+        List<FlightProjection> flights = flightRepository.searchFlights(criteria);
+        int fetchLimit = criteria.limit() != null ? criteria.limit() : Integer.MAX_VALUE;
+        while(flights.size() == fetchLimit && fetchLimit < Integer.MAX_VALUE && countDistinct(flights) < criteria.limit()) {
+            fetchLimit = (int) Math.min(Integer.MAX_VALUE, 2L * fetchLimit);
+            flights = flightRepository.searchFlights(criteria.toBuilder().limit(fetchLimit).build());
+        }
+        return flights;
+    }
+
+    //Same de-duplication key as the search result merge: airline, route and times
+    private static long countDistinct(final List<FlightProjection> flights) {
+        return flights.stream().map(flight -> List.of(flight.airline(), flight.departureAirport(), flight.destinationAirport(),
+                flight.departureTime(), flight.arrivalTime())).distinct().count();
+    }
+
+    private static void verifyRouteIndexResult(final List<FlightDto> indexFlights, final List<FlightDto> databaseFlights) {
+        Set<Long> indexIds = indexFlights.stream().map(FlightDto::id).collect(Collectors.toSet());
+        Set<Long> databaseIds = databaseFlights.stream().map(FlightDto::id).collect(Collectors.toSet());
+        if(!indexIds.equals(databaseIds)) {
+            log.warn("Route index is out of sync with the database - index ids: {}, database ids: {}", indexIds, databaseIds);
+        }
+    }
+
+    //Without failedSources a failure other than a timeout is rethrown
+    private static <T> List<T> collectSearchResult(final String source, final CompletableFuture<List<T>> search,
+                                                   final List<String> timedOutSources, final List<String> failedSources) {
+        try {
+            return search.join();
+        } catch (CompletionException exception) {
+            if(exception.getCause() instanceof TimeoutException) {
+                log.warn("Search flights from {} timed out", source);
+                timedOutSources.add(source);
+                return List.of();
+            } else if(failedSources != null) {
+                log.error("Search flights from {} failed", source, exception.getCause());
+                failedSources.add(source);
+                return List.of();
+            } else if(exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else {
+                throw exception;
+            }
+        }
+    }
+
+    private static FlightSearchSourceStatus publishBatch(final String source, final List<RankedFlight> flights, final Throwable exception,
+                                                         final Consumer<FlightSearchBatch> batchConsumer) {
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+        if(cause == null) {
+            batchConsumer.accept(FlightSearchBatch.builder().source(source).flightDtoList(flights.stream().map(RankedFlight::flight).toList()).build());
+            return FlightSearchSourceStatus.builder().source(source).status(SearchSourceStatus.COMPLETED).flightCount(flights.size()).build();
+        } else if(cause instanceof TimeoutException) {
+            log.warn("Search flights from {} timed out", source);
+            return FlightSearchSourceStatus.builder().source(source).status(SearchSourceStatus.TIMED_OUT).build();
+        }
+        log.error("Search flights from {} failed", source, cause);
+        return FlightSearchSourceStatus.builder().source(source).status(SearchSourceStatus.FAILED).build();
+    }
+
+    static FlightSearchCriteria getFlightSearchCriteria(final FlightSearchDto flightSearchDto) {
+        return FlightSearchCriteria.builder()
+                .airline(flightSearchDto.airline())
+                .airlines(flightSearchDto.airlines() != null ? Set.copyOf(flightSearchDto.airlines()) : null)
+                .departureAirport(flightSearchDto.departureAirport())
+                .destinationAirport(flightSearchDto.destinationAirport())
+                .departureTime(UtcDateTimeCodec.parse(flightSearchDto.departureTime()))
+                .arrivalTime(UtcDateTimeCodec.parse(flightSearchDto.arrivalTime()))
+                .minFare(flightSearchDto.minFare())
+                .maxFare(flightSearchDto.maxFare())
+                .maxDuration(flightSearchDto.maxDuration())
+                .sortBy(flightSearchDto.sortBy())
+                //The merge uses no more than limit distinct flights per source, with or without a sort order
+                .limit(flightSearchDto.limit())
+                .build();
+    }
+
+    static Flight newFlight(final FlightDto flightDto, final Instant utcNow) {
+        return Flight.builder()
                 .airline(flightDto.airline())
                 .supplier(flightDto.supplier())
                 .fare(flightDto.fare().setScale(2, RoundingMode.HALF_EVEN))
                 .departureAirport(flightDto.departureAirport().toUpperCase())
                 .destinationAirport(flightDto.destinationAirport().toUpperCase())
-                .departureTime(covertStringToDateTime(flightDto.departureTime()))
-                .arrivalTime(covertStringToDateTime(flightDto.arrivalTime()))
+                .departureTime(UtcDateTimeCodec.parse(flightDto.departureTime()))
+                .arrivalTime(UtcDateTimeCodec.parse(flightDto.arrivalTime()))
                 .createdBy("USER")
                 .createdAt(utcNow)
                 .updatedBy("USER")
                 .lastUpdatedAt(utcNow)
                 .build();
-        Flight savedFlight = flightRepository.save(flight);
-        return getFlightDto(savedFlight);
     }
 
-    public FlightDto updateFlight(final Long id, final FlightDto flightDto) {
-        final Flight flight = flightRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Flight not found"));
-
+    static void applyFlightDto(final Flight flight, final FlightDto flightDto, final Instant utcNow) {
         flight.setAirline(flightDto.airline());
         flight.setSupplier(flightDto.supplier());
         flight.setFare(flightDto.fare().setScale(2, RoundingMode.HALF_EVEN));
         flight.setDepartureAirport(flightDto.departureAirport().toUpperCase());
         flight.setDestinationAirport(flightDto.destinationAirport().toUpperCase());
-        flight.setDepartureTime(covertStringToDateTime(flightDto.departureTime()));
-        flight.setArrivalTime(covertStringToDateTime(flightDto.arrivalTime()));
+        flight.setDepartureTime(UtcDateTimeCodec.parse(flightDto.departureTime()));
+        flight.setArrivalTime(UtcDateTimeCodec.parse(flightDto.arrivalTime()));
         flight.setUpdatedBy("USER");
-        flight.setLastUpdatedAt(ZonedDateTime.now(ZoneOffset.UTC));
-
-        Flight updatedFlight = flightRepository.save(flight);
-
-        return getFlightDto(updatedFlight);
+        flight.setLastUpdatedAt(utcNow);
     }
 
-    public void deleteFlight(final Long id) {
-        final Flight flight = flightRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Flight not found"));
-        flightRepository.delete(flight);
-    }
-
-    public List<FlightDto> searchFlights(final FlightSearchDto flightSearchDto) {
-
-        //Result from database
-        log.debug("Search flights from database");
-        List<Flight> searchResult = flightRepository.searchFlights(flightSearchDto.airline(), flightSearchDto.departureAirport(),
-                flightSearchDto.destinationAirport(), covertStringToDateTime(flightSearchDto.departureTime()), covertStringToDateTime(flightSearchDto.arrivalTime()));
-        List<FlightDto> flights = new ArrayList<>(searchResult.stream().map(FlightService::getFlightDto).toList());
-
-        log.debug("Begin search flights from crazy supplier service");
-        //Result from CrazySupplier
-        List<FlightDto> crazyFlightSearchResult = searchCrazySupplierFlights(flightSearchDto);
-
-        //Combine flight search result from both Database and Crazy Supplier
-        flights.addAll(crazyFlightSearchResult);
-
-        return flights;
+    private static String encodeCursor(final Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
     }
 
-    @CircuitBreaker(name = "crazy-supplier-service", fallbackMethod = "crazySupplierServiceFallbackMethod")
-    @Retryable(retryFor = RetryableException.class, backoff = @Backoff(delay = 100))
-    private List<FlightDto> searchCrazySupplierFlights(FlightSearchDto flightSearchDto) {
-        CrazySupplierFlightRequest crazySupplierFlightRequest = CrazySupplierFlightRequest.builder()
-                .departureAirportName(flightSearchDto.departureAirport())
-                .arrivalAirportName(flightSearchDto.destinationAirport())
-                //Convert UTC to CET timezone as crazy supplier flight accepts CET timezone.
-                .outboundDateTime(convertUTCToCET(flightSearchDto.departureTime()))
-                .inboundDateTime(convertUTCToCET(flightSearchDto.arrivalTime()))
-                .build();
-        ResponseEntity<List<CrazySupplierFlightResponse>> response = crazySupplierClient.searchCrazySupplierFlights(crazySupplierFlightRequest);
-        if(response.getStatusCode() == HttpStatus.OK) {
-            List<CrazySupplierFlightResponse> crazySupplierFlightResponses = response.getBody();
-            if(crazySupplierFlightResponses != null) {
-                return response.getBody().stream().map(csFlight -> FlightDto.builder()
-                        .airline(csFlight.carrier())
-                        .supplier("Crazy Supplier")
-                        .fare(csFlight.basePrice().add(csFlight.tax()).setScale(2, RoundingMode.HALF_EVEN))
-                        .departureAirport(csFlight.departureAirportName())
-                        .destinationAirport(csFlight.arrivalAirportName())
-                        //Converts to CET to UTC timezone for search api response
-                        .departureTime(convertCETToUTC(csFlight.outboundDateTime()).format(DateTimeFormatter.ISO_DATE_TIME))
-                        .arrivalTime(convertCETToUTC(csFlight.inboundDateTime()).format(DateTimeFormatter.ISO_DATE_TIME))
-                        .build()).toList();
-            }
+    private static Long decodeCursor(final String cursor) {
+        if(cursor == null || cursor.isBlank()) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new ValidationException("Invalid cursor.");
         }
-        return Collections.emptyList();
     }
 
-    private void crazySupplierServiceFallbackMethod(Throwable throwable) {
-        throw new CrazySupplierException("Fallback response due to error in crazy supplier service: " + throwable.getMessage());
+    static FlightDto getFlightDto(FlightProjection flight) {
+        return FlightDto.builder()
+                .id(flight.id())
+                .airline(flight.airline())
+                .supplier(flight.supplier())
+                .fare(flight.fare())
+                .departureAirport(flight.departureAirport())
+                .destinationAirport(flight.destinationAirport())
+                .departureTime(UtcDateTimeCodec.format(flight.departureTime()))
+                .arrivalTime(UtcDateTimeCodec.format(flight.arrivalTime()))
+                .version(flight.version())
+                .build();
     }
 
-    private static FlightDto getFlightDto(Flight flight) {
+    static FlightDto getFlightDto(Flight flight) {
         return FlightDto.builder()
                 .id(flight.getId())
                 .airline(flight.getAirline())
@@ -143,24 +429,13 @@ public class FlightService {
                 .fare(flight.getFare())
                 .departureAirport(flight.getDepartureAirport())
                 .destinationAirport(flight.getDestinationAirport())
-                .departureTime(flight.getDepartureTime().withZoneSameInstant(ZoneId.of("UTC")).format(DateTimeFormatter.ISO_DATE_TIME))
-                .arrivalTime(flight.getArrivalTime().withZoneSameInstant(ZoneId.of("UTC")).format(DateTimeFormatter.ISO_DATE_TIME))
+                .departureTime(UtcDateTimeCodec.format(flight.getDepartureTime()))
+                .arrivalTime(UtcDateTimeCodec.format(flight.getArrivalTime()))
+                .version(flight.getVersion())
                 .build();
     }
 
-    public static void main(String[] args) {
-        System.out.println(covertStringToDateTime("2025-04-07T16:07:09.3714066Z[UTC]"));
-    }
-
     public static ZonedDateTime covertStringToDateTime(final String utcDateTimeString) {
-        return ZonedDateTime.parse(utcDateTimeString);
-    }
-
-    private ZonedDateTime convertUTCToCET(final String utcDateTimeString) {
-        return ZonedDateTime.parse(utcDateTimeString).withZoneSameInstant(ZoneId.of("CET"));
-    }
-
-    private ZonedDateTime convertCETToUTC(final String cetDateTime) {
-        return ZonedDateTime.parse(cetDateTime).withZoneSameInstant(ZoneId.of("UTC"));
+        return UtcDateTimeCodec.parseToUtc(utcDateTimeString);
     }
 }
@@ -0,0 +1,90 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightSearchProperties;
+import com.flight.data.management.config.FlightSupplierProperties;
+import com.flight.data.management.config.FlightSupplierProperties.FlightSupplierSettings;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightSearchDto;
+import com.flight.data.management.service.supplier.FlightSupplier;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scatter side of the supplier search. Every enabled {@link FlightSupplier} is called at once, each under its own
+ * deadline and its own semaphore bulkhead named flight-supplier-&lt;id&gt;, so a slow, saturated or failing
+ * supplier only drops its own flights. Gathering and merging the results is left to the caller.
+ */
+@Component
+@Slf4j
+public class FlightSupplierAggregator {
+
+    private final List<SupplierSearch> supplierSearches;
+
+    private final FlightSearchMetrics flightSearchMetrics;
+
+    public FlightSupplierAggregator(final List<FlightSupplier> flightSuppliers,
+                                    final FlightSupplierProperties flightSupplierProperties,
+                                    final FlightSearchProperties flightSearchProperties,
+                                    final BulkheadRegistry bulkheadRegistry,
+                                    final FlightSearchMetrics flightSearchMetrics) {
+        this.flightSearchMetrics = flightSearchMetrics;
+        this.supplierSearches = flightSuppliers.stream()
+                .filter(flightSupplier -> flightSupplierProperties.settings(flightSupplier.id()).enabled())
+                .map(flightSupplier -> {
+                    FlightSupplierSettings settings = flightSupplierProperties.settings(flightSupplier.id());
+                    //Rejects right away instead of queueing, a full supplier is reported as bulkhead_full
+                    Bulkhead bulkhead = bulkheadRegistry.bulkhead("flight-supplier-" + flightSupplier.id(), BulkheadConfig.custom()
+                            .maxConcurrentCalls(settings.maxConcurrentCalls())
+                            .maxWaitDuration(Duration.ZERO)
+                            .build());
+                    Duration timeout = settings.timeout() != null ? settings.timeout() : flightSearchProperties.supplierTimeout();
+                    return new SupplierSearch(flightSupplier, bulkhead, timeout);
+                })
+                .toList();
+        log.info("Enabled flight suppliers: {}", supplierSearches.stream().map(search -> search.flightSupplier().name()).toList());
+    }
+
+    /**
+     * Starts the search on every enabled supplier and returns the searches by supplier name, in supplier order.
+     * Each future completes with TimeoutException once the supplier deadline passes, or with the supplier's own failure.
+     */
+    public Map<String, CompletableFuture<List<FlightDto>>> searchFlights(final FlightSearchDto flightSearchDto, final String routeClass) {
+        Map<String, CompletableFuture<List<FlightDto>>> searches = new LinkedHashMap<>();
+        supplierSearches.forEach(supplierSearch -> searches.put(supplierSearch.flightSupplier().name(),
+                searchFlights(supplierSearch, flightSearchDto, routeClass)));
+        return searches;
+    }
+
+    private CompletableFuture<List<FlightDto>> searchFlights(final SupplierSearch supplierSearch, final FlightSearchDto flightSearchDto,
+                                                             final String routeClass) {
+        final FlightSupplier flightSupplier = supplierSearch.flightSupplier();
+        CompletableFuture<List<FlightDto>> search;
+        try {
+            //The permit is held until the supplier answers, not only until the deadline
+            search = Bulkhead.decorateCompletionStage(supplierSearch.bulkhead(), () -> flightSearchMetrics.timeAsync(
+                    FlightSearchMetrics.SUPPLIER, routeClass, () -> flightSupplier.searchFlights(flightSearchDto))).get().toCompletableFuture();
+        } catch (RuntimeException exception) {
+            search = CompletableFuture.failedFuture(exception);
+        }
+        return search.orTimeout(supplierSearch.timeout().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((flights, exception) -> {
+                    flightSearchMetrics.recordSupplierOutcome(flightSupplier.name(), routeClass, exception);
+                    if(flights != null) {
+                        flightSearchMetrics.recordResults(flightSupplier.name(), routeClass, flights.size());
+                    }
+                });
+    }
+
+    private record SupplierSearch(FlightSupplier flightSupplier, Bulkhead bulkhead, Duration timeout) {
+    }
+}
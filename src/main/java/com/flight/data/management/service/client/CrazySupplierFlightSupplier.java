@@ -0,0 +1,79 @@
+package com.flight.data.management.service.client;
+
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightSearchDto;
+import com.flight.data.management.service.supplier.FlightSupplier;
+import com.flight.data.management.util.UtcDateTimeCodec;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Crazy Supplier adapter. The supplier takes and returns CET date times, so the search times are converted to CET
+ * on the way in and the flight times back to UTC on the way out.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class CrazySupplierFlightSupplier implements FlightSupplier {
+
+    static final String ID = "crazy-supplier";
+
+    static final String NAME = "Crazy Supplier";
+
+    private CrazySupplierSearchCache crazySupplierSearchCache;
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public CompletableFuture<List<FlightDto>> searchFlights(final FlightSearchDto flightSearchDto) {
+        log.debug("Begin search flights from crazy supplier service");
+        return crazySupplierSearchCache.searchCrazySupplierFlightsAsync(getCrazySupplierFlightRequest(flightSearchDto))
+                .thenApply(crazySupplierFlightResponses -> crazySupplierFlightResponses.stream()
+                        .map(CrazySupplierFlightSupplier::getFlightDto).toList());
+    }
+
+    static CrazySupplierFlightRequest getCrazySupplierFlightRequest(final FlightSearchDto flightSearchDto) {
+        return CrazySupplierFlightRequest.builder()
+                .departureAirportName(flightSearchDto.departureAirport())
+                .arrivalAirportName(flightSearchDto.destinationAirport())
+                //Convert UTC to CET timezone as crazy supplier flight accepts CET timezone.
+                .outboundDateTime(convertUTCToCET(flightSearchDto.departureTime()))
+                .inboundDateTime(convertUTCToCET(flightSearchDto.arrivalTime()))
+                .build();
+    }
+
+    static FlightDto getFlightDto(final CrazySupplierFlightResponse csFlight) {
+        return FlightDto.builder()
+                .airline(csFlight.carrier())
+                .supplier(NAME)
+                .fare(csFlight.basePrice().add(csFlight.tax()).setScale(2, RoundingMode.HALF_EVEN))
+                .departureAirport(csFlight.departureAirportName())
+                .destinationAirport(csFlight.arrivalAirportName())
+                //Converts to CET to UTC timezone for search api response
+                .departureTime(UtcDateTimeCodec.format(UtcDateTimeCodec.parseOffsetDateTime(csFlight.outboundDateTime())))
+                .arrivalTime(UtcDateTimeCodec.format(UtcDateTimeCodec.parseOffsetDateTime(csFlight.inboundDateTime())))
+                .build();
+    }
+
+    static ZonedDateTime convertUTCToCET(final String utcDateTimeString) {
+        return ZonedDateTime.ofInstant(UtcDateTimeCodec.parse(utcDateTimeString), UtcDateTimeCodec.CET);
+    }
+
+    static ZonedDateTime convertCETToUTC(final String cetDateTime) {
+        return ZonedDateTime.ofInstant(UtcDateTimeCodec.parseOffsetDateTime(cetDateTime), UtcDateTimeCodec.UTC);
+    }
+}
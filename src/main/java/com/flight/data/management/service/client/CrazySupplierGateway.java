@@ -0,0 +1,154 @@
+package com.flight.data.management.service.client;
+
+import com.flight.data.management.config.CrazySupplierClientProperties;
+import com.flight.data.management.exception.CrazySupplierException;
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * The only way to the Crazy Supplier. Every call goes through, from outside in: a bounded retry, the circuit breaker,
+ * a time limiter and a bulkhead, all configured as resilience4j instance crazy-supplier-service.
+ * <p>
+ * With the blocking Feign client on platform threads the thread pool bulkhead runs the call on its own bounded pool,
+ * so a slow supplier can hold at most that pool and its queue, never the request threads. With the async client no
+ * thread waits on the supplier, and in virtual thread mode every Feign call gets its own virtual thread, so in both
+ * cases the semaphore bulkhead bounds the calls in flight instead. Calls beyond either bulkhead are rejected with
+ * BulkheadFullException, calls while the breaker is open with CallNotPermittedException and calls over the time limit
+ * with TimeoutException.
+ */
+@Component
+@Slf4j
+public class CrazySupplierGateway {
+
+    static final String INSTANCE_NAME = "crazy-supplier-service";
+
+    private final CrazySupplierClient crazySupplierClient;
+
+    private final CrazySupplierHttpClient crazySupplierHttpClient;
+
+    private final boolean async;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final ThreadPoolBulkhead bulkhead;
+
+    private final Bulkhead semaphoreBulkhead;
+
+    //Runs the blocking Feign calls in virtual thread mode, one virtual thread per call
+    private final ExecutorService virtualThreadExecutor;
+
+    private final TimeLimiter timeLimiter;
+
+    private final Retry retry;
+
+    //Fires the time limiter deadlines and the retry waits, never runs supplier calls
+    private final ScheduledExecutorService scheduler;
+
+    public CrazySupplierGateway(final CrazySupplierClient crazySupplierClient,
+                                final CrazySupplierHttpClient crazySupplierHttpClient,
+                                final CrazySupplierClientProperties crazySupplierClientProperties,
+                                final CircuitBreakerRegistry circuitBreakerRegistry,
+                                final ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
+                                final BulkheadRegistry bulkheadRegistry,
+                                final TimeLimiterRegistry timeLimiterRegistry,
+                                final RetryRegistry retryRegistry,
+                                final Environment environment) {
+        this.crazySupplierClient = crazySupplierClient;
+        this.crazySupplierHttpClient = crazySupplierHttpClient;
+        this.async = crazySupplierClientProperties.async();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE_NAME);
+        final boolean virtualThreads = !async && Threading.VIRTUAL.isActive(environment);
+        //Only the bulkhead in use is created, so only that one shows up in the metrics
+        this.bulkhead = async || virtualThreads ? null : threadPoolBulkheadRegistry.bulkhead(INSTANCE_NAME);
+        this.semaphoreBulkhead = async || virtualThreads ? bulkheadRegistry.bulkhead(INSTANCE_NAME) : null;
+        this.virtualThreadExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("crazy-supplier-", 0).factory()) : null;
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE_NAME);
+        this.retry = retryRegistry.retry(INSTANCE_NAME);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("crazy-supplier-scheduler-"));
+    }
+
+    public CompletableFuture<List<CrazySupplierFlightResponse>> searchCrazySupplierFlights(final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        Supplier<CompletionStage<List<CrazySupplierFlightResponse>>> call = bulkheadCall(crazySupplierFlightRequest);
+        Supplier<CompletionStage<List<CrazySupplierFlightResponse>>> timeLimitedCall = timeLimiter.decorateCompletionStage(scheduler, call);
+        Supplier<CompletionStage<List<CrazySupplierFlightResponse>>> guardedCall = CircuitBreaker.decorateCompletionStage(circuitBreaker, timeLimitedCall);
+        return Retry.decorateCompletionStage(retry, scheduler, guardedCall).get().toCompletableFuture();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if(virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdownNow();
+        }
+    }
+
+    private Supplier<CompletionStage<List<CrazySupplierFlightResponse>>> bulkheadCall(final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        if(async) {
+            return Bulkhead.decorateCompletionStage(semaphoreBulkhead, () -> fetchCrazySupplierFlightsAsync(crazySupplierFlightRequest));
+        } else if(virtualThreadExecutor != null) {
+            return Bulkhead.decorateCompletionStage(semaphoreBulkhead, () -> CompletableFuture.supplyAsync(
+                    () -> fetchCrazySupplierFlights(crazySupplierFlightRequest), virtualThreadExecutor));
+        }
+        return () -> callInBulkhead(crazySupplierFlightRequest);
+    }
+
+    private CompletionStage<List<CrazySupplierFlightResponse>> callInBulkhead(final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        try {
+            return bulkhead.executeSupplier(() -> fetchCrazySupplierFlights(crazySupplierFlightRequest));
+        } catch (BulkheadFullException exception) {
+            log.warn("Crazy supplier bulkhead is full, rejecting search");
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    private CompletableFuture<List<CrazySupplierFlightResponse>> fetchCrazySupplierFlightsAsync(final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        return crazySupplierHttpClient.searchCrazySupplierFlights(crazySupplierFlightRequest).thenApply(CrazySupplierGateway::toFlights);
+    }
+
+    private List<CrazySupplierFlightResponse> fetchCrazySupplierFlights(final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        try {
+            return toFlights(crazySupplierClient.searchCrazySupplierFlights(crazySupplierFlightRequest));
+        } catch (RetryableException exception) {
+            throw exception;
+        } catch (FeignException exception) {
+            //Feign throws on an error status, fail it like the async client so it never maps to this API's own status
+            throw new CrazySupplierException("Crazy supplier service responded with status: " + exception.status());
+        }
+    }
+
+    private static List<CrazySupplierFlightResponse> toFlights(final ResponseEntity<List<CrazySupplierFlightResponse>> response) {
+        if(response.getStatusCode() == HttpStatus.OK) {
+            return response.getBody() != null ? response.getBody() : Collections.emptyList();
+        }
+        throw new CrazySupplierException("Crazy supplier service responded with status: " + response.getStatusCode());
+    }
+}
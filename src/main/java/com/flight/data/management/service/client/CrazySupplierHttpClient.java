@@ -0,0 +1,103 @@
+package com.flight.data.management.service.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.flight.data.management.config.CrazySupplierClientProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Non-blocking counterpart of {@link CrazySupplierClient} on the JDK HttpClient. The returned future completes
+ * on the client executor once the response is read, with the same response the Feign client would return.
+ */
+@Component
+public class CrazySupplierHttpClient {
+
+    private final URI flightsUri;
+
+    private final CrazySupplierClientProperties crazySupplierClientProperties;
+
+    private final ObjectWriter requestWriter;
+
+    private final ObjectReader responseReader;
+
+    private final ExecutorService executor;
+
+    private final HttpClient httpClient;
+
+    public CrazySupplierHttpClient(@Value("${crazy-supplier.url}") final String crazySupplierUrl,
+                                   final CrazySupplierClientProperties crazySupplierClientProperties,
+                                   final ObjectMapper objectMapper,
+                                   final Environment environment) {
+        this.flightsUri = URI.create(crazySupplierUrl + "/flights");
+        this.crazySupplierClientProperties = crazySupplierClientProperties;
+        //Same mapper as the Feign encoder and decoder, so both clients send and read the same JSON
+        this.requestWriter = objectMapper.writerFor(CrazySupplierFlightRequest.class);
+        this.responseReader = objectMapper.readerForListOf(CrazySupplierFlightResponse.class);
+        this.executor = Threading.VIRTUAL.isActive(environment)
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("crazy-supplier-http-", 0).factory())
+                : Executors.newFixedThreadPool(crazySupplierClientProperties.executorThreads(), new CustomizableThreadFactory("crazy-supplier-http-"));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(crazySupplierClientProperties.connectTimeout())
+                .executor(executor)
+                .build();
+    }
+
+    public CompletableFuture<ResponseEntity<List<CrazySupplierFlightResponse>>> searchCrazySupplierFlights(
+            final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = HttpRequest.newBuilder(flightsUri)
+                    .timeout(crazySupplierClientProperties.requestTimeout())
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(requestWriter.writeValueAsBytes(crazySupplierFlightRequest)))
+                    .build();
+        } catch (JsonProcessingException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray()).thenApply(this::toResponseEntity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ResponseEntity<List<CrazySupplierFlightResponse>> toResponseEntity(final HttpResponse<byte[]> response) {
+        //Only a successful response has a flight list body
+        if(response.statusCode() != HttpStatus.OK.value()) {
+            return ResponseEntity.status(response.statusCode()).build();
+        }
+        if(response.body().length == 0) {
+            return ResponseEntity.ok().build();
+        }
+        try {
+            return ResponseEntity.ok(responseReader.readValue(response.body()));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.flight.data.management.service.client;
+
+import com.flight.data.management.config.CrazySupplierCacheProperties;
+import com.flight.data.management.util.UtcDateTimeCodec;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Caches crazy supplier search results by the normalized request. Concurrent identical searches share
+ * one in-flight call, failed calls are never cached. The normalized request is only the cache key, the supplier
+ * gets the request of the caller making the call as it is.
+ */
+@Component
+@Slf4j
+public class CrazySupplierSearchCache {
+
+    static final String CACHE_NAME = "crazy-supplier-search";
+
+    private final CrazySupplierGateway crazySupplierGateway;
+
+    private final boolean enabled;
+
+    private final AsyncCache<CrazySupplierFlightRequest, List<CrazySupplierFlightResponse>> cache;
+
+    public CrazySupplierSearchCache(final CrazySupplierGateway crazySupplierGateway,
+                                    final CrazySupplierCacheProperties crazySupplierCacheProperties,
+                                    final MeterRegistry meterRegistry) {
+        this.crazySupplierGateway = crazySupplierGateway;
+        this.enabled = crazySupplierCacheProperties.enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(crazySupplierCacheProperties.maximumSize())
+                .expireAfterWrite(crazySupplierCacheProperties.ttl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<CrazySupplierFlightResponse> searchCrazySupplierFlights(final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        return join(searchCrazySupplierFlightsAsync(crazySupplierFlightRequest));
+    }
+
+    /**
+     * Same search without waiting for the result. Every caller gets its own future, so completing or timing out
+     * one never completes the call shared with identical searches.
+     */
+    public CompletableFuture<List<CrazySupplierFlightResponse>> searchCrazySupplierFlightsAsync(final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        if(!enabled) {
+            return crazySupplierGateway.searchCrazySupplierFlights(crazySupplierFlightRequest);
+        }
+
+        final CrazySupplierFlightRequest key = normalize(crazySupplierFlightRequest);
+        final CompletableFuture<List<CrazySupplierFlightResponse>> search = new CompletableFuture<>();
+        final CompletableFuture<List<CrazySupplierFlightResponse>> cachedSearch = cache.get(key, (request, executor) -> search);
+        if(cachedSearch != search) {
+            log.debug("Crazy supplier search served from cache");
+            return cachedSearch.copy();
+        }
+
+        //This call owns the supplier call, every identical search waits on the same future
+        try {
+            crazySupplierGateway.searchCrazySupplierFlights(crazySupplierFlightRequest).whenComplete((flights, exception) -> {
+                if(exception != null) {
+                    //Caffeine drops failed futures on its own, but only after they complete, so a retry right
+                    //after the failure could still be served the failed call
+                    cache.asMap().remove(key, search);
+                    search.completeExceptionally(exception);
+                } else {
+                    search.complete(flights);
+                }
+            });
+        } catch (RuntimeException exception) {
+            cache.asMap().remove(key, search);
+            search.completeExceptionally(exception);
+        }
+        return search.copy();
+    }
+
+    private static CrazySupplierFlightRequest normalize(final CrazySupplierFlightRequest crazySupplierFlightRequest) {
+        return CrazySupplierFlightRequest.builder()
+                .departureAirportName(crazySupplierFlightRequest.departureAirportName().toUpperCase())
+                .arrivalAirportName(crazySupplierFlightRequest.arrivalAirportName().toUpperCase())
+                .outboundDateTime(crazySupplierFlightRequest.outboundDateTime().withZoneSameInstant(UtcDateTimeCodec.CET))
+                .inboundDateTime(crazySupplierFlightRequest.inboundDateTime().withZoneSameInstant(UtcDateTimeCodec.CET))
+                .build();
+    }
+
+    private static List<CrazySupplierFlightResponse> join(final CompletableFuture<List<CrazySupplierFlightResponse>> search) {
+        try {
+            return search.join();
+        } catch (CompletionException exception) {
+            if(exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
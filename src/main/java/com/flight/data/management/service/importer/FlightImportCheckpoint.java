@@ -0,0 +1,57 @@
+package com.flight.data.management.service.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Progress of a file import, written after every committed chunk. The file size and chunk size are kept so that
+ * an import only resumes against the same file cut into the same chunks.
+ */
+record FlightImportCheckpoint(long fileSize, int chunkSize, long lastCommittedChunk, long importedRows, long rejectedRows) {
+
+    static FlightImportCheckpoint start(final long fileSize, final int chunkSize) {
+        return new FlightImportCheckpoint(fileSize, chunkSize, -1, 0, 0);
+    }
+
+    static Optional<FlightImportCheckpoint> read(final Path file) throws IOException {
+        if(!Files.exists(file)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return Optional.of(new FlightImportCheckpoint(
+                Long.parseLong(properties.getProperty("fileSize")),
+                Integer.parseInt(properties.getProperty("chunkSize")),
+                Long.parseLong(properties.getProperty("lastCommittedChunk")),
+                Long.parseLong(properties.getProperty("importedRows")),
+                Long.parseLong(properties.getProperty("rejectedRows"))));
+    }
+
+    FlightImportCheckpoint next(final long chunk, final long imported, final long rejected) {
+        return new FlightImportCheckpoint(fileSize, chunkSize, chunk, importedRows + imported, rejectedRows + rejected);
+    }
+
+    //Write to a temporary file first so a crash never leaves a half written checkpoint behind
+    void write(final Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("fileSize", String.valueOf(fileSize));
+        properties.setProperty("chunkSize", String.valueOf(chunkSize));
+        properties.setProperty("lastCommittedChunk", String.valueOf(lastCommittedChunk));
+        properties.setProperty("importedRows", String.valueOf(importedRows));
+        properties.setProperty("rejectedRows", String.valueOf(rejectedRows));
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporaryFile)) {
+            properties.store(writer, "Flight import checkpoint");
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
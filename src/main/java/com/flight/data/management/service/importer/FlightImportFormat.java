@@ -0,0 +1,16 @@
+package com.flight.data.management.service.importer;
+
+import java.nio.file.Path;
+
+public enum FlightImportFormat {
+
+    //Header line with the FlightDto field names, one flight per line
+    CSV,
+
+    //One FlightDto JSON object per line
+    NDJSON;
+
+    public static FlightImportFormat of(final Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,9 @@
+package com.flight.data.management.service.importer;
+
+import lombok.Builder;
+
+import java.time.Duration;
+
+@Builder
+public record FlightImportResult(long importedRows, long rejectedRows, long skippedChunks, Duration duration) {
+}
@@ -0,0 +1,29 @@
+package com.flight.data.management.service.importer;
+
+import com.flight.data.management.config.FlightImportProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs the file import on startup when flight-import.file is set. Start the application with
+ * spring.main.web-application-type=none to import and exit without serving requests.
+ */
+@Component
+@ConditionalOnProperty(prefix = "flight-import", name = "file")
+@AllArgsConstructor
+public class FlightImportRunner implements ApplicationRunner {
+
+    private final FlightImportService flightImportService;
+
+    private final FlightImportProperties flightImportProperties;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        flightImportService.importFile(Path.of(flightImportProperties.file()));
+    }
+}
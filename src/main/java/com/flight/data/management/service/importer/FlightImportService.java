@@ -0,0 +1,334 @@
+package com.flight.data.management.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.management.config.FlightImportProperties;
+import com.flight.data.management.exception.ValidationException;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.service.FlightBulkService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams a CSV or NDJSON file of flights into the database.
+ * <p>
+ * One reader cuts the file into chunks of lines, parser threads parse, validate and normalize the chunks and one
+ * writer saves them in file order through {@link FlightBulkService#createChunk}. The stages are joined by bounded
+ * queues and the number of chunks between the reader and the writer is capped, so a slow database slows the reader
+ * down instead of filling the heap.
+ * <p>
+ * After every committed chunk a checkpoint is written next to the file. A restarted import skips the committed
+ * chunks, so at most the chunk committed right before a crash is imported twice.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class FlightImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("airline", "supplier", "fare", "departureAirport",
+            "destinationAirport", "departureTime", "arrivalTime");
+
+    private static final LineChunk END_OF_FILE = new LineChunk(-1, -1, List.of());
+
+    private static final ParsedChunk END_OF_CHUNKS = new ParsedChunk(-1, List.of(), 0);
+
+    private final FlightBulkService flightBulkService;
+
+    private final ObjectMapper objectMapper;
+
+    private final FlightImportProperties flightImportProperties;
+
+    public FlightImportResult importFile(final Path file) throws IOException, InterruptedException {
+        final FlightImportFormat format = flightImportProperties.format() != null
+                ? flightImportProperties.format() : FlightImportFormat.of(file);
+        final Path checkpointFile = flightImportProperties.checkpointFile() != null
+                ? Path.of(flightImportProperties.checkpointFile()) : file.resolveSibling(file.getFileName() + ".checkpoint");
+        final long fileSize = Files.size(file);
+        final int chunkSize = flightImportProperties.chunkSize();
+
+        FlightImportCheckpoint checkpoint = FlightImportCheckpoint.read(checkpointFile)
+                .orElse(FlightImportCheckpoint.start(fileSize, chunkSize));
+        if(checkpoint.fileSize() != fileSize || checkpoint.chunkSize() != chunkSize) {
+            throw new IllegalStateException("Checkpoint " + checkpointFile + " belongs to another file or chunk size. " +
+                    "Delete it to import " + file + " from the start.");
+        }
+
+        final Map<String, Integer> columns = format == FlightImportFormat.CSV ? readCsvHeader(file) : Map.of();
+        log.info("Importing flights from {} as {} in chunks of {}, resuming after chunk {}",
+                file, format, chunkSize, checkpoint.lastCommittedChunk());
+
+        final int parserThreads = flightImportProperties.parserThreads();
+        final BlockingQueue<LineChunk> parseQueue = new ArrayBlockingQueue<>(flightImportProperties.queueCapacity());
+        final BlockingQueue<ParsedChunk> writeQueue = new ArrayBlockingQueue<>(flightImportProperties.queueCapacity());
+        //Also counts the chunks parked by the writer until the chunks before them are parsed
+        final Semaphore chunksInFlight = new Semaphore(2 * flightImportProperties.queueCapacity() + parserThreads);
+
+        final long skipChunks = checkpoint.lastCommittedChunk() + 1;
+        final ExecutorService executor = Executors.newFixedThreadPool(parserThreads + 1, new CustomizableThreadFactory("flight-import-"));
+        try {
+            Future<?> reader = executor.submit(() -> {
+                readChunks(file, format, chunkSize, skipChunks, parseQueue, chunksInFlight, parserThreads);
+                return null;
+            });
+            for (int i = 0; i < parserThreads; i++) {
+                executor.submit(() -> {
+                    parseChunks(format, columns, parseQueue, writeQueue);
+                    return null;
+                });
+            }
+
+            FlightImportResult result = writeChunks(checkpoint, checkpointFile, parserThreads, writeQueue, chunksInFlight);
+            reader.get();
+            log.info("Imported {} flights from {}, rejected {}, skipped {} committed chunks in {}",
+                    result.importedRows(), file, result.rejectedRows(), result.skippedChunks(), result.duration());
+            return result;
+        } catch (ExecutionException exception) {
+            if(exception.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException("Flight import failed reading " + file, exception.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void readChunks(final Path file, final FlightImportFormat format, final int chunkSize, final long skipChunks,
+                                   final BlockingQueue<LineChunk> parseQueue, final Semaphore chunksInFlight,
+                                   final int parserThreads) throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            long lineNumber = 0;
+            if(format == FlightImportFormat.CSV) {
+                reader.readLine();
+                lineNumber++;
+            }
+
+            long sequence = 0;
+            List<String> lines = new ArrayList<>(chunkSize);
+            long firstLine = lineNumber + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                lines.add(line);
+                if(lines.size() == chunkSize) {
+                    offer(new LineChunk(sequence++, firstLine, lines), skipChunks, parseQueue, chunksInFlight);
+                    lines = new ArrayList<>(chunkSize);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if(!lines.isEmpty()) {
+                offer(new LineChunk(sequence, firstLine, lines), skipChunks, parseQueue, chunksInFlight);
+            }
+        } finally {
+            for (int i = 0; i < parserThreads; i++) {
+                parseQueue.put(END_OF_FILE);
+            }
+        }
+    }
+
+    private static void offer(final LineChunk chunk, final long skipChunks, final BlockingQueue<LineChunk> parseQueue,
+                              final Semaphore chunksInFlight) throws InterruptedException {
+        if(chunk.sequence() < skipChunks) {
+            return;
+        }
+        chunksInFlight.acquire();
+        parseQueue.put(chunk);
+    }
+
+    private void parseChunks(final FlightImportFormat format, final Map<String, Integer> columns,
+                             final BlockingQueue<LineChunk> parseQueue, final BlockingQueue<ParsedChunk> writeQueue) throws InterruptedException {
+        try {
+            LineChunk chunk;
+            while ((chunk = parseQueue.take()) != END_OF_FILE) {
+                writeQueue.put(parseChunk(chunk, format, columns));
+            }
+        } finally {
+            writeQueue.put(END_OF_CHUNKS);
+        }
+    }
+
+    private ParsedChunk parseChunk(final LineChunk chunk, final FlightImportFormat format, final Map<String, Integer> columns) {
+        List<FlightDto> flights = new ArrayList<>(chunk.lines().size());
+        int rejected = 0;
+        for (int i = 0; i < chunk.lines().size(); i++) {
+            String line = chunk.lines().get(i);
+            if(line.isBlank()) {
+                continue;
+            }
+
+            FlightDto flightDto = null;
+            List<String> errors;
+            try {
+                flightDto = format == FlightImportFormat.CSV ? parseCsvLine(line, columns) : objectMapper.readValue(line, FlightDto.class);
+                errors = flightBulkService.validate(flightDto, false);
+            } catch (JsonProcessingException | RuntimeException exception) {
+                errors = List.of("Line could not be parsed - " + exception.getMessage());
+            }
+
+            if(errors.isEmpty()) {
+                flights.add(normalize(flightDto));
+            } else {
+                rejected++;
+                log.warn("Rejected flight on line {} - {}", chunk.firstLine() + i, errors);
+            }
+        }
+        return new ParsedChunk(chunk.sequence(), flights, rejected);
+    }
+
+    private FlightImportResult writeChunks(final FlightImportCheckpoint startCheckpoint, final Path checkpointFile, final int parserThreads,
+                                           final BlockingQueue<ParsedChunk> writeQueue, final Semaphore chunksInFlight) throws IOException, InterruptedException {
+        final long startNanos = System.nanoTime();
+        final Duration progressInterval = flightImportProperties.progressInterval();
+        long lastProgressNanos = startNanos;
+
+        FlightImportCheckpoint checkpoint = startCheckpoint;
+        Map<Long, ParsedChunk> parked = new HashMap<>();
+        long nextChunk = checkpoint.lastCommittedChunk() + 1;
+        int finishedParsers = 0;
+        while (finishedParsers < parserThreads) {
+            ParsedChunk parsed = writeQueue.take();
+            if(parsed == END_OF_CHUNKS) {
+                finishedParsers++;
+                continue;
+            }
+
+            //Chunks are committed in file order so the checkpoint always marks a committed prefix of the file
+            parked.put(parsed.sequence(), parsed);
+            ParsedChunk chunk;
+            while ((chunk = parked.remove(nextChunk)) != null) {
+                if(!chunk.flights().isEmpty()) {
+                    flightBulkService.createChunk(chunk.flights());
+                }
+                checkpoint = checkpoint.next(chunk.sequence(), chunk.flights().size(), chunk.rejected());
+                checkpoint.write(checkpointFile);
+                chunksInFlight.release();
+                nextChunk++;
+
+                long now = System.nanoTime();
+                if(now - lastProgressNanos >= progressInterval.toNanos()) {
+                    logProgress(startCheckpoint, checkpoint, Duration.ofNanos(now - startNanos));
+                    lastProgressNanos = now;
+                }
+            }
+        }
+
+        return FlightImportResult.builder()
+                .importedRows(checkpoint.importedRows() - startCheckpoint.importedRows())
+                .rejectedRows(checkpoint.rejectedRows() - startCheckpoint.rejectedRows())
+                .skippedChunks(startCheckpoint.lastCommittedChunk() + 1)
+                .duration(Duration.ofNanos(System.nanoTime() - startNanos))
+                .build();
+    }
+
+    private static void logProgress(final FlightImportCheckpoint startCheckpoint, final FlightImportCheckpoint checkpoint, final Duration elapsed) {
+        long imported = checkpoint.importedRows() - startCheckpoint.importedRows();
+        long rejected = checkpoint.rejectedRows() - startCheckpoint.rejectedRows();
+        long rowsPerSecond = (imported + rejected) * 1000 / Math.max(1, elapsed.toMillis());
+        log.info("Flight import progress: committed chunk {}, imported {} flights, rejected {}, {} rows/s",
+                checkpoint.lastCommittedChunk(), imported, rejected, rowsPerSecond);
+    }
+
+    private static Map<String, Integer> readCsvHeader(final Path file) throws IOException {
+        String header;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            header = reader.readLine();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        if(header != null) {
+            List<String> names = splitCsvLine(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i), i);
+            }
+        }
+        if(!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new ValidationException("CSV header must contain the columns " + String.join(",", CSV_COLUMNS) + ".");
+        }
+        return columns;
+    }
+
+    private static FlightDto parseCsvLine(final String line, final Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        String fare = csvField(fields, columns, "fare");
+        return FlightDto.builder()
+                .airline(csvField(fields, columns, "airline"))
+                .supplier(csvField(fields, columns, "supplier"))
+                .fare(fare != null ? new BigDecimal(fare) : null)
+                .departureAirport(csvField(fields, columns, "departureAirport"))
+                .destinationAirport(csvField(fields, columns, "destinationAirport"))
+                .departureTime(csvField(fields, columns, "departureTime"))
+                .arrivalTime(csvField(fields, columns, "arrivalTime"))
+                .build();
+    }
+
+    private static String csvField(final List<String> fields, final Map<String, Integer> columns, final String column) {
+        int index = columns.get(column);
+        return index < fields.size() && !fields.get(index).isEmpty() ? fields.get(index) : null;
+    }
+
+    //Comma separated fields, optionally in double quotes with "" for a quote inside a quoted field
+    static List<String> splitCsvLine(final String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if(quoted) {
+                if(c != '"') {
+                    field.append(c);
+                } else if(i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if(c == '"') {
+                quoted = true;
+            } else if(c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static FlightDto normalize(final FlightDto flightDto) {
+        return FlightDto.builder()
+                .airline(flightDto.airline().trim())
+                .supplier(flightDto.supplier().trim())
+                .fare(flightDto.fare().setScale(2, RoundingMode.HALF_EVEN))
+                .departureAirport(flightDto.departureAirport().toUpperCase())
+                .destinationAirport(flightDto.destinationAirport().toUpperCase())
+                .departureTime(flightDto.departureTime())
+                .arrivalTime(flightDto.arrivalTime())
+                .build();
+    }
+
+    private record LineChunk(long sequence, long firstLine, List<String> lines) {
+    }
+
+    private record ParsedChunk(long sequence, List<FlightDto> flights, int rejected) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.flight.data.management.service.supplier;
+
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightSearchDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An external flight supplier searched next to the database. Every Spring bean implementing it is called on each
+ * search by the FlightSupplierAggregator, so adding a supplier means adding an adapter bean and, when the defaults
+ * do not fit, its flight-supplier.suppliers.&lt;id&gt; settings.
+ * <p>
+ * Adapters own the conversion of the search to the supplier request, time zones included, and of the supplier
+ * response to {@link FlightDto} with UTC date times.
+ */
+public interface FlightSupplier {
+
+    /**
+     * Key of the supplier settings, e.g. crazy-supplier.
+     */
+    String id();
+
+    /**
+     * Name shown in the supplier field of its flights and in timedOutSources and failedSources, e.g. Crazy Supplier.
+     */
+    String name();
+
+    /**
+     * Searches without blocking the caller, failures are returned through the future.
+     */
+    CompletableFuture<List<FlightDto>> searchFlights(FlightSearchDto flightSearchDto);
+}
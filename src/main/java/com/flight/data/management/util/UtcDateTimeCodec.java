@@ -0,0 +1,257 @@
+package com.flight.data.management.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Codec for the API timestamp format yyyy-MM-ddTHH:mm:ss.fffZ[UTC] (1 to 9 fraction digits), as produced by
+ * DateTimeFormatter.ISO_DATE_TIME for a UTC date time. Validation and parsing are one pass over the characters
+ * straight to epoch values, formatting writes the bytes directly, so neither goes through DateTimeFormatter,
+ * the parsed field map or a zone rules lookup.
+ */
+public final class UtcDateTimeCodec {
+
+    public static final ZoneId UTC = ZoneId.of("UTC");
+
+    public static final ZoneId CET = ZoneId.of("CET");
+
+    private static final String UTC_SUFFIX = "Z[UTC]";
+
+    //yyyy-MM-ddTHH:mm:ss
+    private static final int LOCAL_DATE_TIME_LENGTH = 19;
+
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    //Days from 0000-03-01 to 1970-01-01
+    private static final int DAYS_0000_TO_1970 = 719468;
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    private UtcDateTimeCodec() {
+    }
+
+    /**
+     * Whether the text is a UTC date time in the API format with valid field values, e.g. no month 13 or 30 February.
+     */
+    public static boolean isValid(final CharSequence text) {
+        return text != null && parseUtcEpochSecond(text) != INVALID;
+    }
+
+    public static Instant parse(final CharSequence text) {
+        final long epochSecond = parseUtcEpochSecond(text);
+        if(epochSecond == INVALID) {
+            throw new DateTimeParseException("Text '" + text + "' is not a UTC date time", text, 0);
+        }
+        return Instant.ofEpochSecond(epochSecond, parseNano(text, fractionEnd(text)));
+    }
+
+    public static ZonedDateTime parseToUtc(final CharSequence text) {
+        return ZonedDateTime.ofInstant(parse(text), UTC);
+    }
+
+    /**
+     * Parses an ISO_DATE_TIME with an offset, e.g. 2025-04-07T18:07:09.3714066+02:00[CET] from the Crazy Supplier.
+     * The offset decides the instant, the zone id in brackets is not looked up. Anything else ISO_DATE_TIME accepts
+     * goes through ZonedDateTime.parse.
+     */
+    public static Instant parseOffsetDateTime(final CharSequence text) {
+        final long localEpochSecond = text.length() > LOCAL_DATE_TIME_LENGTH ? parseLocalEpochSecond(text) : INVALID;
+        if(localEpochSecond != INVALID) {
+            final int offsetStart = text.charAt(LOCAL_DATE_TIME_LENGTH) == '.' ? fractionEnd(text) : LOCAL_DATE_TIME_LENGTH;
+            final int nanoDigits = offsetStart - LOCAL_DATE_TIME_LENGTH - 1;
+            final long offsetSeconds = parseOffsetSeconds(text, offsetStart);
+            if((offsetStart == LOCAL_DATE_TIME_LENGTH || nanoDigits >= 1 && nanoDigits <= 9) && offsetSeconds != INVALID) {
+                final int nano = offsetStart == LOCAL_DATE_TIME_LENGTH ? 0 : parseNano(text, offsetStart);
+                return Instant.ofEpochSecond(localEpochSecond - offsetSeconds, nano);
+            }
+        }
+        return ZonedDateTime.parse(text).toInstant();
+    }
+
+    public static String format(final Instant instant) {
+        return format(instant.getEpochSecond(), instant.getNano());
+    }
+
+    public static String format(final ZonedDateTime dateTime) {
+        return format(dateTime.toEpochSecond(), dateTime.getNano());
+    }
+
+    /**
+     * Formats the instant as ISO_DATE_TIME in UTC, byte for byte what
+     * DateTimeFormatter.ISO_DATE_TIME.format(ZonedDateTime.ofInstant(instant, UTC)) returns.
+     */
+    public static String format(final long epochSecond, final int nano) {
+        final long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        final int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        //Civil date from days, see http://howardhinnant.github.io/date_algorithms.html
+        final long days = epochDay + DAYS_0000_TO_1970;
+        final long era = Math.floorDiv(days, 146097);
+        final int dayOfEra = (int) (days - era * 146097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        final int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if(year < 0 || year > 9999) {
+            //Signed and wider years are not part of the API format, let the JDK format them
+            return DateTimeFormatter.ISO_DATE_TIME.format(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), UTC));
+        }
+
+        final byte[] bytes = new byte[LOCAL_DATE_TIME_LENGTH + 10 + UTC_SUFFIX.length()];
+        writeDigits(bytes, 0, (int) year, 4);
+        bytes[4] = '-';
+        writeDigits(bytes, 5, month, 2);
+        bytes[7] = '-';
+        writeDigits(bytes, 8, day, 2);
+        bytes[10] = 'T';
+        writeDigits(bytes, 11, secondOfDay / 3600, 2);
+        bytes[13] = ':';
+        writeDigits(bytes, 14, secondOfDay / 60 % 60, 2);
+        bytes[16] = ':';
+        writeDigits(bytes, 17, secondOfDay % 60, 2);
+
+        int position = LOCAL_DATE_TIME_LENGTH;
+        if(nano != 0) {
+            //ISO_DATE_TIME prints the fraction without trailing zeros
+            int digits = 9;
+            int fraction = nano;
+            while(fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            bytes[position++] = '.';
+            writeDigits(bytes, position, fraction, digits);
+            position += digits;
+        }
+        for (int index = 0; index < UTC_SUFFIX.length(); index++) {
+            bytes[position++] = (byte) UTC_SUFFIX.charAt(index);
+        }
+        return new String(bytes, 0, position, StandardCharsets.ISO_8859_1);
+    }
+
+    private static long parseUtcEpochSecond(final CharSequence text) {
+        final int length = text.length();
+        if(length < LOCAL_DATE_TIME_LENGTH + 2 + UTC_SUFFIX.length() || text.charAt(LOCAL_DATE_TIME_LENGTH) != '.') {
+            return INVALID;
+        }
+        final int fractionEnd = fractionEnd(text);
+        final int nanoDigits = fractionEnd - LOCAL_DATE_TIME_LENGTH - 1;
+        if(nanoDigits < 1 || nanoDigits > 9 || length != fractionEnd + UTC_SUFFIX.length()) {
+            return INVALID;
+        }
+        for (int index = 0; index < UTC_SUFFIX.length(); index++) {
+            if(text.charAt(fractionEnd + index) != UTC_SUFFIX.charAt(index)) {
+                return INVALID;
+            }
+        }
+        return parseLocalEpochSecond(text);
+    }
+
+    //Epoch second of the leading yyyy-MM-ddTHH:mm:ss read as UTC, INVALID when a field is malformed or out of range
+    private static long parseLocalEpochSecond(final CharSequence text) {
+        if(text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return INVALID;
+        }
+        final int year = parseDigits(text, 0, 4);
+        final int month = parseDigits(text, 5, 2);
+        final int day = parseDigits(text, 8, 2);
+        final int hour = parseDigits(text, 11, 2);
+        final int minute = parseDigits(text, 14, 2);
+        final int second = parseDigits(text, 17, 2);
+        if(year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+
+        //Days from civil date, see http://howardhinnant.github.io/date_algorithms.html
+        final int marchYear = month <= 2 ? year - 1 : year;
+        final int era = Math.floorDiv(marchYear, 400);
+        final int yearOfEra = marchYear - era * 400;
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        final long epochDay = era * 146097L + dayOfEra - DAYS_0000_TO_1970;
+        return epochDay * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    //Offset in seconds of a Z or +HH:MM offset at the given position, optionally followed by a [zone id]
+    private static long parseOffsetSeconds(final CharSequence text, final int offsetStart) {
+        final int length = text.length();
+        if(offsetStart >= length) {
+            return INVALID;
+        }
+        final char sign = text.charAt(offsetStart);
+        final int offsetEnd;
+        final long offsetSeconds;
+        if(sign == 'Z') {
+            offsetEnd = offsetStart + 1;
+            offsetSeconds = 0;
+        } else if((sign == '+' || sign == '-') && offsetStart + 6 <= length && text.charAt(offsetStart + 3) == ':') {
+            final int hours = parseDigits(text, offsetStart + 1, 2);
+            final int minutes = parseDigits(text, offsetStart + 4, 2);
+            if(hours < 0 || hours > 18 || minutes < 0 || minutes > 59) {
+                return INVALID;
+            }
+            offsetEnd = offsetStart + 6;
+            offsetSeconds = (sign == '-' ? -1L : 1L) * (hours * 3600L + minutes * 60L);
+        } else {
+            return INVALID;
+        }
+        if(offsetEnd == length || text.charAt(offsetEnd) == '[' && text.charAt(length - 1) == ']' && length - offsetEnd > 2) {
+            return offsetSeconds;
+        }
+        return INVALID;
+    }
+
+    private static int fractionEnd(final CharSequence text) {
+        int position = LOCAL_DATE_TIME_LENGTH + 1;
+        while(position < text.length() && isDigit(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int parseNano(final CharSequence text, final int fractionEnd) {
+        final int digits = fractionEnd - LOCAL_DATE_TIME_LENGTH - 1;
+        return parseDigits(text, LOCAL_DATE_TIME_LENGTH + 1, digits) * POWERS_OF_TEN[9 - digits];
+    }
+
+    //Value of the digits, -1 when one of them is not a digit
+    private static int parseDigits(final CharSequence text, final int start, final int count) {
+        int value = 0;
+        for (int index = start; index < start + count; index++) {
+            final char digit = text.charAt(index);
+            if(!isDigit(digit)) {
+                return -1;
+            }
+            value = value * 10 + digit - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(final char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static void writeDigits(final byte[] bytes, final int start, int value, final int count) {
+        for (int index = start + count - 1; index >= start; index--) {
+            bytes[index] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        return switch (month) {
+            case 2 -> year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+}
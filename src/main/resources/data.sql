@@ -1,3 +1,4 @@
+-- Times are UTC epoch microseconds, e.g. 1744042029371407 is 2025-04-07T16:07:09.371407Z
 insert into FLIGHT (id, airline, supplier, fare, departure_airport, destination_airport, departure_time, arrival_time, created_by, created_at, updated_by, last_updated_at) values
-(100, 'KLM', 'supplier1', 1200, 'AMS', 'MAA', '2025-04-07T16:07:09.371406600Z', '2025-04-08T01:07:09.371406600Z', 'USER', '2025-04-07T15:08:23.664356400Z', 'USER', '2025-04-07T15:08:23.664356400Z'),
-(101, 'Air France', 'supplier2', 1300, 'CDG', 'MAA', '2025-04-07T17:07:09.371406600Z', '2025-04-08T03:07:09.371406600Z', 'USER', '2025-04-07T15:08:23.664356400Z', 'USER', '2025-04-07T15:08:23.664356400Z');
+(100, 'KLM', 'supplier1', 1200, 'AMS', 'MAA', 1744042029371407, 1744074429371407, 'USER', 1744038503664356, 'USER', 1744038503664356),
+(101, 'Air France', 'supplier2', 1300, 'CDG', 'MAA', 1744045629371407, 1744081629371407, 'USER', 1744038503664356, 'USER', 1744038503664356);
@@ -1,18 +1,25 @@
 DROP TABLE FLIGHT IF EXISTS;
+DROP SEQUENCE FLIGHT_SEQ IF EXISTS;
 
+-- Hibernate allocates ids in blocks of 50 (pooled-lo), rows inserted without an id take the next block start
+CREATE SEQUENCE FLIGHT_SEQ START WITH 1000 INCREMENT BY 50;
+
+-- Times are UTC instants in epoch microseconds
 CREATE TABLE FLIGHT(
-    ID INT AUTO_INCREMENT PRIMARY KEY,
+    ID BIGINT DEFAULT NEXT VALUE FOR FLIGHT_SEQ PRIMARY KEY,
     AIRLINE VARCHAR(255) NOT NULL,
     SUPPLIER VARCHAR(255) NOT NULL,
     FARE DECIMAL(19, 2) NOT NULL,
     DEPARTURE_AIRPORT VARCHAR(3) NOT NULL,
     DESTINATION_AIRPORT VARCHAR(3) NOT NULL,
-    DEPARTURE_TIME TIMESTAMP NOT NULL,
-    ARRIVAL_TIME TIMESTAMP NOT NULL,
+    DEPARTURE_TIME BIGINT NOT NULL,
+    ARRIVAL_TIME BIGINT NOT NULL,
     CREATED_BY VARCHAR(255) NOT NULL,
-    CREATED_AT TIMESTAMP NOT NULL,
+    CREATED_AT BIGINT NOT NULL,
     UPDATED_BY VARCHAR(255) NOT NULL,
-    LAST_UPDATED_AT TIMESTAMP NOT NULL
+    LAST_UPDATED_AT BIGINT NOT NULL,
+    -- Incremented on every update, an update with an older version is rejected
+    VERSION BIGINT DEFAULT 0 NOT NULL
 );
 
 CREATE INDEX idx_airline ON FLIGHT(AIRLINE);
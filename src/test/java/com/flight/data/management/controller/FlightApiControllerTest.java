@@ -3,19 +3,41 @@ package com.flight.data.management.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.flight.data.management.config.CompactFlightResponseHttpMessageConverter;
+import com.flight.data.management.config.FlightExportProperties;
+import com.flight.data.management.config.FlightSearchMetricsProperties;
+import com.flight.data.management.config.FlightSearchProperties;
+import com.flight.data.management.config.MessageConverterConfig;
 import com.flight.data.management.config.WebSecurityConfig;
+import com.flight.data.management.exception.ConflictException;
+import com.flight.data.management.model.BulkFlightResponse;
+import com.flight.data.management.model.BulkFlightResult;
+import com.flight.data.management.model.BulkItemStatus;
+import com.flight.data.management.model.CompactFlightResponse;
 import com.flight.data.management.model.ErrorResponse;
 import com.flight.data.management.model.FlightDto;
 import com.flight.data.management.model.FlightResponse;
+import com.flight.data.management.model.FlightSearchBatch;
 import com.flight.data.management.model.FlightSearchDto;
+import com.flight.data.management.model.FlightSearchSourceStatus;
+import com.flight.data.management.model.SearchSourceStatus;
+import com.flight.data.management.service.FlightBulkService;
+import com.flight.data.management.service.FlightChangeTracker;
+import com.flight.data.management.service.FlightExportService;
+import com.flight.data.management.service.FlightSearchMetrics;
 import com.flight.data.management.service.FlightService;
 import com.flight.data.management.util.TestDataUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -23,39 +45,60 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.flight.data.management.util.TestDataUtil.UTC_DATE_PATTERN;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = FlightApiController.class)
-@Import(WebSecurityConfig.class)
+@Import({WebSecurityConfig.class, MessageConverterConfig.class, FlightSearchMetrics.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties({FlightSearchMetricsProperties.class, FlightSearchProperties.class, FlightExportProperties.class})
 @ActiveProfiles("test")
 class FlightApiControllerTest {
 
     @MockitoBean
     private FlightService mockFlightService;
 
+    @MockitoBean
+    private FlightExportService mockFlightExportService;
+
+    @MockitoBean
+    private FlightBulkService mockFlightBulkService;
+
+    @MockitoBean
+    private FlightChangeTracker mockFlightChangeTracker;
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
     @Nested
     @DisplayName("Happy Flow")
     class HappyFlow {
 
         @Test
         void testGetFlights_ReturnResponse_HttpStatusOK_WithAllFlights() throws Exception {
-            when(mockFlightService.getFlights()).thenReturn(TestDataUtil.getFlightDtoList());
+            when(mockFlightService.getFlights(any(), any())).thenReturn(FlightResponse.builder()
+                    .flightDtoList(TestDataUtil.getFlightDtoList()).build());
 
             MvcResult result = mockMvc.perform(get("/api/flights"))
                     .andDo(MockMvcResultHandlers.print())
@@ -68,7 +111,104 @@ class FlightApiControllerTest {
             assertEquals(2, response.flightDtoList().size());
             assertTrue(response.flightDtoList().get(0).departureTime().matches(UTC_DATE_PATTERN));
             assertTrue(response.flightDtoList().get(0).arrivalTime().matches(UTC_DATE_PATTERN));
-            verify(mockFlightService, times(1)).getFlights();
+            verify(mockFlightService, times(1)).getFlights(any(), any());
+        }
+
+        @Test
+        void testGetFlights_ReturnStatus304_WithoutReadingFlights_WhenETagMatches() throws Exception {
+            when(mockFlightChangeTracker.listETag()).thenReturn("\"etag-1\"");
+
+            mockMvc.perform(get("/api/flights").header(HttpHeaders.IF_NONE_MATCH, "\"etag-0\", \"etag-1\""))
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"etag-1\""));
+
+            verify(mockFlightService, times(0)).getFlights(any(), any());
+        }
+
+        @Test
+        void testGetFlights_ReturnCborOrSmile_ByAcceptHeader() throws Exception {
+            List<FlightDto> flights = TestDataUtil.getFlightDtoList();
+            when(mockFlightService.getFlights(any(), any())).thenReturn(FlightResponse.builder().flightDtoList(flights).build());
+
+            for(ObjectMapper binaryMapper : new ObjectMapper[]{new CBORMapper(), new SmileMapper()}) {
+                MediaType mediaType = binaryMapper instanceof CBORMapper
+                        ? MediaType.APPLICATION_CBOR : MediaType.parseMediaType("application/x-jackson-smile");
+                MvcResult result = mockMvc.perform(get("/api/flights").accept(mediaType))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(mediaType))
+                        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                        .andReturn();
+
+                FlightResponse response = binaryMapper.readValue(result.getResponse().getContentAsByteArray(), FlightResponse.class);
+                assertEquals(flights, response.flightDtoList());
+            }
+        }
+
+        @Test
+        void testGetFlights_ReturnCompactResponse_OnlyWhenAccepted() throws Exception {
+            List<FlightDto> flights = TestDataUtil.getFlightDtoList();
+            when(mockFlightService.getFlights(any(), any())).thenReturn(FlightResponse.builder().flightDtoList(flights).build());
+
+            mockMvc.perform(get("/api/flights"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+            MvcResult result = mockMvc.perform(get("/api/flights").accept(CompactFlightResponseHttpMessageConverter.MEDIA_TYPE))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(CompactFlightResponseHttpMessageConverter.MEDIA_TYPE))
+                    .andReturn();
+
+            CompactFlightResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), CompactFlightResponse.class);
+            assertEquals(List.of("KLM", "supplier1", "AMS", "MAA", "Air France", "supplier2", "CDG"), response.dictionary());
+            assertEquals(List.of(3, 3), response.destinationAirport());
+            assertEquals(flights.stream().map(FlightDto::airline).toList(),
+                    response.toFlightResponse().flightDtoList().stream().map(FlightDto::airline).toList());
+        }
+
+        @Test
+        void testExportFlights_ReturnResponse_HttpStatusOK_WithNdjsonStream() throws Exception {
+            doAnswer(invocation -> {
+                OutputStream outputStream = invocation.getArgument(0);
+                outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes());
+                return null;
+            }).when(mockFlightExportService).exportFlights(any());
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/flights/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn();
+
+            assertEquals(2, result.getResponse().getContentAsString().lines().count());
+            assertEquals(Duration.ofMinutes(10).toMillis(), asyncResult.getRequest().getAsyncContext().getTimeout());
+            verify(mockFlightExportService, times(1)).exportFlights(any());
+        }
+
+        @Test
+        void testCreateFlights_ReturnResponse_HttpStatusOK_WithOutcomePerFlight() throws Exception {
+            when(mockFlightBulkService.createFlights(any())).thenReturn(BulkFlightResponse.builder()
+                    .succeeded(1).failed(1)
+                    .results(List.of(BulkFlightResult.builder().index(0).id(1L).status(BulkItemStatus.CREATED).build(),
+                            BulkFlightResult.builder().index(1).status(BulkItemStatus.INVALID)
+                                    .errors(List.of("Invalid departure and arrival time.")).build()))
+                    .build());
+
+            List<FlightDto> request = List.of(TestDataUtil.getFlightDto(null),
+                    TestDataUtil.getFlightDtoWithInvalidDepartureArrivalTime(null));
+            MvcResult result = mockMvc.perform(post("/api/flights/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            BulkFlightResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), BulkFlightResponse.class);
+            assertEquals(1, response.succeeded());
+            assertEquals(BulkItemStatus.INVALID, response.results().get(1).status());
+            verify(mockFlightBulkService, times(1)).createFlights(any());
         }
 
         @Test
@@ -123,12 +263,17 @@ class FlightApiControllerTest {
 
         @Test
         void testSearchFlight_ReturnStatus200_WithFlights() throws Exception {
-            when(mockFlightService.searchFlights(any())).thenReturn(List.of(TestDataUtil.getFlightDtoList().get(0)));
+            List<FlightDto> flights = List.of(TestDataUtil.getFlightDtoList().get(0));
+            when(mockFlightService.searchFlightsAsync(any()))
+                    .thenReturn(CompletableFuture.completedFuture(FlightResponse.builder().flightDtoList(flights).build()));
 
             FlightSearchDto request = TestDataUtil.getFlightSearchDto();
-            MvcResult result = mockMvc.perform(post("/api/flights/search")
+            MvcResult asyncResult = mockMvc.perform(post("/api/flights/search")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(covertToJsonString(request)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
                     .andDo(MockMvcResultHandlers.print())
                     .andExpect(status().isOk())
                     .andReturn();
@@ -137,7 +282,95 @@ class FlightApiControllerTest {
             FlightResponse response = objectMapper.readValue(responseJson, FlightResponse.class);
             assertNotNull(response);
             assertEquals(1, response.flightDtoList().size());
-            verify(mockFlightService, times(1)).searchFlights(any());
+            assertTrue(meterRegistry.get("flight.search.phase").tag("phase", "validation").timer().count() > 0);
+            verify(mockFlightService, times(1)).searchFlightsAsync(any());
+        }
+
+        @Test
+        void testSearchFlight_ReturnETag_OnlyWhenNoSourceTimedOutOrFailed() throws Exception {
+            when(mockFlightChangeTracker.searchETag(any())).thenReturn("\"etag-1\"");
+            when(mockFlightService.searchFlightsAsync(any()))
+                    .thenReturn(CompletableFuture.completedFuture(FlightResponse.builder().flightDtoList(List.of()).build()))
+                    .thenReturn(CompletableFuture.completedFuture(FlightResponse.builder().flightDtoList(List.of())
+                            .timedOutSources(List.of("Crazy Supplier")).build()))
+                    .thenReturn(CompletableFuture.completedFuture(FlightResponse.builder().flightDtoList(List.of())
+                            .failedSources(List.of("Crazy Supplier")).build()));
+
+            for(String expectedETag : new String[]{"\"etag-1\"", null, null}) {
+                MvcResult asyncResult = mockMvc.perform(post("/api/flights/search")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(covertToJsonString(TestDataUtil.getFlightSearchDto())))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+                mockMvc.perform(asyncDispatch(asyncResult))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.ETAG, expectedETag));
+            }
+        }
+
+        @Test
+        void testSearchFlight_ReturnCbor_WhenAccepted() throws Exception {
+            List<FlightDto> flights = List.of(TestDataUtil.getFlightDtoList().get(0));
+            when(mockFlightService.searchFlightsAsync(any()))
+                    .thenReturn(CompletableFuture.completedFuture(FlightResponse.builder().flightDtoList(flights).build()));
+
+            MvcResult asyncResult = mockMvc.perform(post("/api/flights/search")
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(covertToJsonString(TestDataUtil.getFlightSearchDto())))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                    .andReturn();
+
+            FlightResponse response = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), FlightResponse.class);
+            assertEquals(flights, response.flightDtoList());
+        }
+
+        @Test
+        void testSearchFlight_ReturnStatus304_WithoutSearching_WhenETagMatches() throws Exception {
+            when(mockFlightChangeTracker.searchETag(any())).thenReturn("\"etag-1\"");
+
+            MvcResult asyncResult = mockMvc.perform(post("/api/flights/search")
+                            .header(HttpHeaders.IF_NONE_MATCH, "W/\"etag-1\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(covertToJsonString(TestDataUtil.getFlightSearchDto())))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isNotModified());
+
+            verify(mockFlightService, times(0)).searchFlightsAsync(any());
+        }
+
+        @Test
+        void testStreamSearchFlight_ReturnStatus200_WithEventPerSource_ThenCompleteEvent() throws Exception {
+            doAnswer(invocation -> {
+                Consumer<FlightSearchBatch> batchConsumer = invocation.getArgument(1);
+                batchConsumer.accept(new FlightSearchBatch("Database", List.of(TestDataUtil.getFlightDtoList().get(0))));
+                return CompletableFuture.completedFuture(List.of(
+                        new FlightSearchSourceStatus("Database", SearchSourceStatus.COMPLETED, 1),
+                        new FlightSearchSourceStatus("Crazy Supplier", SearchSourceStatus.TIMED_OUT, 0)));
+            }).when(mockFlightService).searchFlightsProgressively(any(), any());
+
+            FlightSearchDto request = TestDataUtil.getFlightSearchDto();
+            MvcResult result = mockMvc.perform(post("/api/flights/search/stream")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(covertToJsonString(request)))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            String events = result.getResponse().getContentAsString();
+            assertTrue(result.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+            assertTrue(events.contains("event:flights"));
+            assertTrue(events.indexOf("event:flights") < events.indexOf("event:complete"));
+            assertTrue(events.contains("\"status\":\"TIMED_OUT\""));
+            assertEquals(Duration.ofSeconds(10).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+            verify(mockFlightService, times(1)).searchFlightsProgressively(any(), any());
         }
     }
 
@@ -231,11 +464,31 @@ class FlightApiControllerTest {
             verify(mockFlightService, times(0)).updateFlight(anyLong(), any());
         }
 
+        @Test
+        void testUpdateFlight_ReturnStatus409_WhenFlightWasUpdatedSinceVersion() throws Exception {
+            when(mockFlightService.updateFlight(anyLong(), any()))
+                    .thenThrow(new ConflictException("Flight was updated by another request, read it again and retry."));
+
+            FlightDto request = TestDataUtil.getFlightDtoForUpdate(1L, 3L);
+            MvcResult result = mockMvc.perform(put("/api/flights/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(covertToJsonString(request)))
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isConflict())
+                    .andReturn();
+
+            String responseJson = result.getResponse().getContentAsString();
+            ErrorResponse response = objectMapper.readValue(responseJson, ErrorResponse.class);
+            assertNotNull(response);
+            assertEquals("Flight was updated by another request, read it again and retry.", response.errorMessage());
+        }
+
         @Test
         void testSearchFlight_ReturnStatus400_WithErrorResponse() throws Exception {
             FlightSearchDto request = FlightSearchDto.builder()
                     .destinationAirport("Amsterdam")
-                    .departureTime(ZonedDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME)).build();
+                    .departureTime(ZonedDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME))
+                    .limit(0).build();
             MvcResult result = mockMvc.perform(post("/api/flights/search")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(covertToJsonString(request)))
@@ -250,7 +503,33 @@ class FlightApiControllerTest {
             assertTrue(response.errorDetails().contains("Destination airport code must be 3 characters."));
             assertTrue(response.errorDetails().contains("Departure time must be ISO_DATE_TIME format (UTC timezone)."));
             assertTrue(response.errorDetails().contains("Arrival time cannot be null."));
-            verify(mockFlightService, times(0)).searchFlights(any());
+            assertTrue(response.errorDetails().contains("Limit must be between 1 and 1000."));
+            verify(mockFlightService, times(0)).searchFlightsAsync(any());
+        }
+
+        @Test
+        void testSearchFlight_ReturnStatus400_WhenMinimumFareIsAboveMaximumFare() throws Exception {
+            FlightSearchDto flightSearchDto = TestDataUtil.getFlightSearchDto();
+            FlightSearchDto request = FlightSearchDto.builder()
+                    .departureAirport(flightSearchDto.departureAirport())
+                    .destinationAirport(flightSearchDto.destinationAirport())
+                    .departureTime(flightSearchDto.departureTime())
+                    .arrivalTime(flightSearchDto.arrivalTime())
+                    .minFare(new BigDecimal("500"))
+                    .maxFare(new BigDecimal("100"))
+                    .build();
+            MvcResult result = mockMvc.perform(post("/api/flights/search")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(covertToJsonString(request)))
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isBadRequest())
+                    .andReturn();
+
+            String responseJson = result.getResponse().getContentAsString();
+            ErrorResponse response = objectMapper.readValue(responseJson, ErrorResponse.class);
+            assertNotNull(response);
+            assertEquals("Invalid minimum and maximum fare.", response.errorMessage());
+            verify(mockFlightService, times(0)).searchFlightsAsync(any());
         }
     }
 
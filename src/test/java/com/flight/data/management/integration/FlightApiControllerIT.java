@@ -3,6 +3,7 @@ package com.flight.data.management.integration;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.flight.data.management.model.ErrorResponse;
 import com.flight.data.management.model.FlightDto;
 import com.flight.data.management.model.FlightResponse;
@@ -19,11 +20,15 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static com.flight.data.management.util.TestDataUtil.UTC_DATE_PATTERN;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -51,6 +56,8 @@ public class FlightApiControllerIT extends AbstractWireMockTest {
             assertEquals(2, response.flightDtoList().size());
             assertTrue(response.flightDtoList().get(0).departureTime().matches(UTC_DATE_PATTERN));
             assertTrue(response.flightDtoList().get(0).arrivalTime().matches(UTC_DATE_PATTERN));
+            assertEquals("2025-04-07T16:07:09.371407Z[UTC]", response.flightDtoList().get(0).departureTime());
+            assertEquals("2025-04-08T01:07:09.371407Z[UTC]", response.flightDtoList().get(0).arrivalTime());
         }
 
         @Test
@@ -89,6 +96,7 @@ public class FlightApiControllerIT extends AbstractWireMockTest {
             FlightDto response = objectMapper.readValue(responseJson, FlightDto.class);
             assertNotNull(response);
             assertEquals(100, response.id());
+            assertEquals(1, response.version());
             assertEquals("New Supplier", response.supplier());
             assertEquals(BigDecimal.valueOf(1500.00).setScale(2), response.fare());
             assertTrue(response.departureTime().matches(UTC_DATE_PATTERN));
@@ -117,9 +125,12 @@ public class FlightApiControllerIT extends AbstractWireMockTest {
 
             FlightSearchDto request = TestDataUtil.getFlightSearchDto();
 
-            MvcResult result = mockMvc.perform(post("/api/flights/search")
+            MvcResult asyncResult = mockMvc.perform(post("/api/flights/search")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(covertToJsonString(request)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
                     .andDo(MockMvcResultHandlers.print())
                     .andExpect(status().isOk())
                     .andReturn();
@@ -134,6 +145,23 @@ public class FlightApiControllerIT extends AbstractWireMockTest {
             assertTrue(response.flightDtoList().get(0).departureTime().matches(UTC_DATE_PATTERN));
             assertTrue(response.flightDtoList().get(0).arrivalTime().matches(UTC_DATE_PATTERN));
         }
+
+        @Test
+        @DisplayName("GET:/api/flights - should return the same flights as Smile when accepted")
+        @Order(6)
+        void testGetFlights_ShouldReturn_Status200_WithSmileBody_WhenAccepted() throws Exception {
+            FlightResponse jsonResponse = objectMapper.readValue(mockMvc.perform(MockMvcRequestBuilders.get("/api/flights"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), FlightResponse.class);
+
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/flights")
+                            .accept(MediaType.parseMediaType("application/x-jackson-smile")))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            FlightResponse response = new SmileMapper().readValue(result.getResponse().getContentAsByteArray(), FlightResponse.class);
+            assertEquals(jsonResponse, response);
+        }
     }
 
     @Nested
@@ -157,22 +185,75 @@ public class FlightApiControllerIT extends AbstractWireMockTest {
         }
 
         @Test
-        @DisplayName("POST:/api/flights/search - should return 500 Internal Server Error when crazy supplier service is down")
-        void testSearchFlight_ReturnResponse_HttpStatus500_WhenCrazySupplierServiceDown() throws Exception {
-            FlightSearchDto request = TestDataUtil.getFlightSearchDto();
+        @DisplayName("PUT:/api/flights/{id} - should return 409 - flight updated since the given version")
+        void testUpdateFlight_ReturnResponse_HttpStatus409_WhenVersionIsOutdated() throws Exception {
+            MvcResult created = mockMvc.perform(post("/api/flights")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(covertToJsonString(TestDataUtil.getFlightDto(null))))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            FlightDto flight = objectMapper.readValue(created.getResponse().getContentAsString(), FlightDto.class);
+            assertEquals(0, flight.version());
 
-            MvcResult result = mockMvc.perform(post("/api/flights/search")
+            MvcResult updated = mockMvc.perform(MockMvcRequestBuilders.put("/api/flights/" + flight.id())
                             .contentType(MediaType.APPLICATION_JSON)
-                            .content(covertToJsonString(request)))
+                            .content(covertToJsonString(TestDataUtil.getFlightDtoForUpdate(flight.id(), 0L))))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertEquals(1, objectMapper.readValue(updated.getResponse().getContentAsString(), FlightDto.class).version());
+
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.put("/api/flights/" + flight.id())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(covertToJsonString(TestDataUtil.getFlightDtoForUpdate(flight.id(), 0L))))
                     .andDo(MockMvcResultHandlers.print())
-                    .andExpect(status().isInternalServerError())
+                    .andExpect(status().isConflict())
                     .andReturn();
 
             String responseJson = result.getResponse().getContentAsString();
             ErrorResponse response = objectMapper.readValue(responseJson, ErrorResponse.class);
             assertNotNull(response);
-            assertEquals("Something went wrong", response.errorMessage());
+            assertEquals("Flight was updated by another request, read it again and retry.", response.errorMessage());
+        }
+
+        @Test
+        @DisplayName("POST:/api/flights/search - should return the database flights and the failed source when crazy supplier service is down")
+        void testSearchFlight_ReturnResponse_HttpStatus200_WithFailedSource_WhenCrazySupplierServiceDown() throws Exception {
+            //Replaces the supplier stub of the happy flow, which may have run first
+            stubFor(WireMock.post(urlEqualTo("/flights"))
+                    .willReturn(aResponse().withStatus(HttpStatus.SERVICE_UNAVAILABLE.value())));
+
+            FlightResponse response = searchFlights(TestDataUtil.getFlightSearchDto());
+
+            assertNotNull(response.flightDtoList());
+            assertEquals(List.of("Crazy Supplier"), response.failedSources());
         }
+
+        @Test
+        @DisplayName("POST:/api/flights/search - should return the database flights and the failed source when crazy supplier service responds 404")
+        void testSearchFlight_ReturnResponse_HttpStatus200_WithFailedSource_WhenCrazySupplierServiceRespondsNotFound() throws Exception {
+            //A supplier 404 is a supplier failure, not a missing resource of this API
+            stubFor(WireMock.post(urlEqualTo("/flights"))
+                    .willReturn(aResponse().withStatus(HttpStatus.NOT_FOUND.value())));
+
+            FlightResponse response = searchFlights(TestDataUtil.getFlightSearchDto());
+
+            assertNotNull(response.flightDtoList());
+            assertEquals(List.of("Crazy Supplier"), response.failedSources());
+        }
+    }
+
+    private FlightResponse searchFlights(final FlightSearchDto request) throws Exception {
+        MvcResult asyncResult = mockMvc.perform(post("/api/flights/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(covertToJsonString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), FlightResponse.class);
     }
 
     private String covertToJsonString(final Object request) throws JsonProcessingException {
@@ -0,0 +1,116 @@
+package com.flight.data.management.integration;
+
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.model.projection.FlightProjection;
+import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.repository.FlightSearchCriteria;
+import com.flight.data.management.service.FlightService;
+import com.flight.data.management.util.TestDataUtil;
+import com.flight.data.management.util.UtcDateTimeCodec;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightCacheIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindById_ReadFlightFromSecondLevelCache_AfterFirstRead() {
+        FlightDto flight = flightService.createFlight(TestDataUtil.getFlightDto(null));
+
+        //The insert does not fill the cache, Hibernate skips it for entities with a @Formula property
+        flightRepository.findById(flight.id());
+        flightRepository.findById(flight.id());
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Flight.CACHE_REGION).getHitCount());
+        flightService.deleteFlight(flight.id());
+    }
+
+    @Test
+    void testUpdateFlight_EvictOnlyUpdatedFlight_FromSecondLevelCache() {
+        FlightDto flight = flightService.createFlight(TestDataUtil.getFlightDto(null));
+        FlightDto otherFlight = flightService.createFlight(TestDataUtil.getFlightDto(null));
+        flightRepository.findById(flight.id());
+        flightRepository.findById(otherFlight.id());
+        statistics.clear();
+
+        //The flight to update is loaded from the cache
+        flightService.updateFlight(flight.id(), getFlightDtoWithFare(flight, new BigDecimal("250")));
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Flight.CACHE_REGION).getHitCount());
+
+        flightRepository.findById(otherFlight.id());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(Flight.CACHE_REGION).getHitCount());
+
+        //The updated flight is read once and then cached again
+        assertEquals(0, new BigDecimal("250").compareTo(flightRepository.findById(flight.id()).orElseThrow().getFare()));
+        flightRepository.findById(flight.id());
+        assertEquals(3, statistics.getDomainDataRegionStatistics(Flight.CACHE_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Flight.CACHE_REGION).getMissCount());
+
+        flightService.deleteFlight(flight.id());
+        flightService.deleteFlight(otherFlight.id());
+    }
+
+    @Test
+    void testSearchFlights_ReturnCachedResult_UntilFlightIsUpdatedOrDeleted() {
+        FlightDto flight = flightService.createFlight(TestDataUtil.getFlightDto(null));
+        FlightSearchCriteria criteria = FlightSearchCriteria.builder()
+                .departureAirport(flight.departureAirport())
+                .destinationAirport(flight.destinationAirport())
+                .departureTime(UtcDateTimeCodec.parse(flight.departureTime()))
+                .arrivalTime(UtcDateTimeCodec.parse(flight.arrivalTime()))
+                .build();
+
+        assertEquals(0, new BigDecimal("100").compareTo(searchFlight(criteria, flight.id()).orElseThrow().fare()));
+        searchFlight(criteria, flight.id());
+        assertEquals(1, statistics.getQueryRegionStatistics("flight-search").getHitCount());
+
+        flightService.updateFlight(flight.id(), getFlightDtoWithFare(flight, new BigDecimal("250")));
+        assertEquals(0, new BigDecimal("250").compareTo(searchFlight(criteria, flight.id()).orElseThrow().fare()));
+
+        flightService.deleteFlight(flight.id());
+        assertTrue(searchFlight(criteria, flight.id()).isEmpty());
+        assertTrue(flightRepository.findById(flight.id()).isEmpty());
+    }
+
+    private static FlightDto getFlightDtoWithFare(final FlightDto flight, final BigDecimal fare) {
+        return FlightDto.builder()
+                .airline(flight.airline())
+                .supplier(flight.supplier())
+                .fare(fare)
+                .departureAirport(flight.departureAirport())
+                .destinationAirport(flight.destinationAirport())
+                .departureTime(flight.departureTime())
+                .arrivalTime(flight.arrivalTime())
+                .build();
+    }
+
+    private Optional<FlightProjection> searchFlight(final FlightSearchCriteria criteria, final Long id) {
+        return flightRepository.searchFlights(criteria).stream().filter(flight -> flight.id().equals(id)).findFirst();
+    }
+}
@@ -0,0 +1,111 @@
+package com.flight.data.management.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.management.service.client.CrazySupplierFlightResponse;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+
+/**
+ * Stands in for Crazy Supplier on the port the integration tests use. Responses carry a fixed number of flights,
+ * are delayed by a log normal distribution and a share of them fail with 503.
+ */
+class CrazySupplierSimulator {
+
+    static final int PORT = 8091;
+
+    private static final String[] CARRIERS = {"Transavia", "Vueling", "Ryanair", "Wizz Air"};
+
+    private final WireMockServer wireMockServer;
+
+    private final LoadTestSettings settings;
+
+    CrazySupplierSimulator(final LoadTestSettings settings) {
+        this.settings = settings;
+        //Delayed responses are served from their own pool so slow responses do not hold the Jetty threads
+        this.wireMockServer = new WireMockServer(new WireMockConfiguration()
+                .port(PORT)
+                .containerThreads(200)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(100)
+                .disableRequestJournal()
+                .extensions(new ErrorRateTransformer(settings.supplierErrorRate())));
+    }
+
+    void start() throws JsonProcessingException {
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlEqualTo("/flights"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(new ObjectMapper().writeValueAsBytes(searchResponse(settings.supplierFlights())))
+                        .withLogNormalRandomDelay(settings.supplierMedianLatency().toMillis(), settings.supplierLatencySigma())));
+    }
+
+    void stop() {
+        wireMockServer.stop();
+    }
+
+    private static List<CrazySupplierFlightResponse> searchResponse(final int flights) {
+        ZonedDateTime outbound = ZonedDateTime.now(ZoneId.of("CET")).plusDays(1);
+        List<CrazySupplierFlightResponse> response = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            response.add(CrazySupplierFlightResponse.builder()
+                    .carrier(CARRIERS[i % CARRIERS.length])
+                    .departureAirportName("AMS")
+                    .arrivalAirportName("BCN")
+                    .basePrice(BigDecimal.valueOf(4000 + i * 137L % 20000, 2))
+                    .tax(BigDecimal.valueOf(1500 + i * 31L % 3000, 2))
+                    .outboundDateTime(outbound.plusMinutes(20L * i).format(DateTimeFormatter.ISO_DATE_TIME))
+                    .inboundDateTime(outbound.plusMinutes(20L * i + 150).format(DateTimeFormatter.ISO_DATE_TIME))
+                    .build());
+        }
+        return response;
+    }
+
+    private static class ErrorRateTransformer extends ResponseDefinitionTransformer {
+
+        private final double errorRate;
+
+        ErrorRateTransformer(final double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        @Override
+        public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition, FileSource files, Parameters parameters) {
+            if(ThreadLocalRandom.current().nextDouble() >= errorRate) {
+                return responseDefinition;
+            }
+            return new ResponseDefinitionBuilder()
+                    .withStatus(HttpStatus.SERVICE_UNAVAILABLE.value())
+                    .withBody("Crazy supplier is overloaded")
+                    .build();
+        }
+
+        @Override
+        public String getName() {
+            return "error-rate";
+        }
+    }
+}
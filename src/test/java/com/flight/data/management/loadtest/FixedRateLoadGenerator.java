@@ -0,0 +1,65 @@
+package com.flight.data.management.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Open workload: requests are started at a fixed arrival rate whatever the response times are, the way real
+ * clients keep arriving when the service slows down. A closed loop of threads would instead back off and
+ * under-report the latency.
+ */
+class FixedRateLoadGenerator {
+
+    private final HttpClient httpClient;
+
+    private final LatencyRecorder recorder;
+
+    FixedRateLoadGenerator(final HttpClient httpClient, final LatencyRecorder recorder) {
+        this.httpClient = httpClient;
+        this.recorder = recorder;
+    }
+
+    void run(final int requestsPerSecond, final Duration duration, final Supplier<Operation> workload)
+            throws InterruptedException, TimeoutException {
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        final Phaser inFlight = new Phaser(1);
+
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            long wait = scheduled - System.nanoTime();
+            if(wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            final Operation operation = workload.get();
+            final long scheduledAt = scheduled;
+            inFlight.register();
+            httpClient.sendAsync(operation.request(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, exception) -> {
+                        boolean error = exception != null || response.statusCode() / 100 != 2;
+                        recorder.record(operation.endpoint(), System.nanoTime() - scheduledAt, error);
+                        if(!error) {
+                            operation.onSuccess().accept(response.body());
+                        }
+                        inFlight.arriveAndDeregister();
+                    });
+        }
+        inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 1, TimeUnit.MINUTES);
+    }
+
+    record Operation(String endpoint, HttpRequest request, Consumer<String> onSuccess) {
+
+        Operation(final String endpoint, final HttpRequest request) {
+            this(endpoint, request, body -> { });
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.flight.data.management.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightResponse;
+import com.flight.data.management.model.FlightSearchDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test against the running application, H2 filled with generated flights and a simulated
+ * Crazy Supplier. Excluded from the default build, run with mvn -Pload-test test. See {@link LoadTestSettings}
+ * for the knobs.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FlightLoadTest {
+
+    //Route outside the generated data, only written by the consistency check
+    private static final String CHECK_DEPARTURE_AIRPORT = "ZRH";
+
+    private static final String CHECK_DESTINATION_AIRPORT = "OSL";
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+
+    private static CrazySupplierSimulator crazySupplierSimulator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void properties(final DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.root", () -> "WARN");
+        registry.add("crazy-supplier.cache.enabled", () -> System.getProperty("load.supplier-cache", "true"));
+        registry.add("flight-search.index.enabled", () -> System.getProperty("load.route-index", "false"));
+        //Compare the blocking Feign client with the async client, e.g. with a slow supplier and few server threads
+        registry.add("crazy-supplier.client.async", () -> System.getProperty("load.supplier-async", "true"));
+        registry.add("server.tomcat.threads.max", () -> System.getProperty("load.server-threads", "200"));
+        registry.add("spring.threads.virtual.enabled", () -> System.getProperty("load.virtual-threads", "false"));
+    }
+
+    @BeforeAll
+    static void startCrazySupplierSimulator() throws IOException {
+        crazySupplierSimulator = new CrazySupplierSimulator(SETTINGS);
+        crazySupplierSimulator.start();
+    }
+
+    @AfterAll
+    static void stopCrazySupplierSimulator() {
+        crazySupplierSimulator.stop();
+    }
+
+    @Test
+    void testMixedWorkload_ReportLatencyPercentilesPerEndpoint() throws Exception {
+        if(countFlights() < SETTINGS.flights()) {
+            LoadTestData.insertFlights(jdbcTemplate, SETTINGS.flights());
+        }
+        final List<Long> seededIds = jdbcTemplate.queryForList("SELECT ID FROM FLIGHT", Long.class);
+        final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+        log.warn("Warming up for {} at {} requests/s", SETTINGS.warmup(), SETTINGS.requestsPerSecond());
+        new FixedRateLoadGenerator(httpClient, new LatencyRecorder())
+                .run(SETTINGS.requestsPerSecond(), SETTINGS.warmup(), () -> nextOperation(seededIds, createdIds));
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        new FixedRateLoadGenerator(httpClient, recorder)
+                .run(SETTINGS.requestsPerSecond(), SETTINGS.duration(), () -> nextOperation(seededIds, createdIds));
+
+        List<LatencyRecorder.EndpointReport> reports = recorder.report();
+        writeReport(reports);
+        for (LatencyRecorder.EndpointReport report : reports) {
+            if(report.endpoint().startsWith("POST /api/flights/search")) {
+                //Searches fail when Crazy Supplier does
+                assertTrue(report.errors() <= report.requests() * (SETTINGS.supplierErrorRate() * 2 + 0.01), report.toString());
+            } else {
+                assertEquals(0, report.errors(), report.toString());
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentWrites_SearchResultsStayConsistent() throws Exception {
+        final int flightsPerWriter = 50;
+        final Map<Long, BigDecimal> expectedFares = new ConcurrentHashMap<>();
+        final List<String> violations = new ArrayList<>();
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(SETTINGS.writers() + 2);
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < SETTINGS.writers(); writer++) {
+            final int writerIndex = writer;
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < flightsPerWriter; i++) {
+                    FlightDto created = objectMapper.readValue(send("POST", "/api/flights",
+                            checkFlight(null, writerIndex * 1000 + i, new BigDecimal("100.00"))).body(), FlightDto.class);
+                    BigDecimal finalFare = new BigDecimal(200 + writerIndex).setScale(2);
+                    send("PUT", "/api/flights/" + created.id(), checkFlight(created.id(), writerIndex * 1000 + i, finalFare));
+                    if(i % 3 == 0) {
+                        send("DELETE", "/api/flights/" + created.id(), null);
+                    } else {
+                        expectedFares.put(created.id(), finalFare);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        //Every search result seen while writing must match the search, whatever state the writes are in
+        Future<?> reader = executor.submit(() -> {
+            while (writing.get()) {
+                for (FlightDto flight : searchCheckRoute()) {
+                    if(!CHECK_DEPARTURE_AIRPORT.equals(flight.departureAirport()) || !CHECK_DESTINATION_AIRPORT.equals(flight.destinationAirport())) {
+                        synchronized (violations) {
+                            violations.add("Search returned flight " + flight.id() + " on another route");
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        for (Future<?> writer : writers) {
+            writer.get(5, TimeUnit.MINUTES);
+        }
+        writing.set(false);
+        reader.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        assertEquals(List.of(), violations);
+        Map<Long, BigDecimal> searchedFares = searchCheckRoute().stream()
+                .collect(Collectors.toMap(FlightDto::id, FlightDto::fare));
+        assertEquals(expectedFares, searchedFares);
+        assertEquals(expectedFares.size(), countCheckRouteInDatabase());
+    }
+
+    //50% search, 20% list, 15% create, 10% update, 5% delete
+    private FixedRateLoadGenerator.Operation nextOperation(final List<Long> seededIds, final ConcurrentLinkedQueue<Long> createdIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int dice = random.nextInt(100);
+        try {
+            if(dice < 50) {
+                ZonedDateTime from = ZonedDateTime.ofInstant(LoadTestData.FIRST_DEPARTURE, ZoneId.of("UTC"))
+                        .plusMinutes(random.nextInt(LoadTestData.DAYS * 24 * 60));
+                String departureAirport = LoadTestData.AIRPORTS[random.nextInt(LoadTestData.AIRPORTS.length)];
+                String destinationAirport = LoadTestData.AIRPORTS[(List.of(LoadTestData.AIRPORTS).indexOf(departureAirport) + 1
+                        + random.nextInt(LoadTestData.AIRPORTS.length - 1)) % LoadTestData.AIRPORTS.length];
+                return new FixedRateLoadGenerator.Operation("POST /api/flights/search",
+                        request("POST", "/api/flights/search", searchDto(departureAirport, destinationAirport, from, from.plusDays(1))));
+            }
+            if(dice < 70) {
+                long afterId = seededIds.get(random.nextInt(seededIds.size()));
+                String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(afterId).getBytes(StandardCharsets.UTF_8));
+                return new FixedRateLoadGenerator.Operation("GET /api/flights", request("GET", "/api/flights?size=100&cursor=" + cursor, null));
+            }
+            if(dice < 85) {
+                return new FixedRateLoadGenerator.Operation("POST /api/flights",
+                        request("POST", "/api/flights", loadFlight(null, random)),
+                        body -> createdIds.add(readId(body)));
+            }
+            if(dice < 95) {
+                long id = seededIds.get(random.nextInt(seededIds.size()));
+                return new FixedRateLoadGenerator.Operation("PUT /api/flights/{id}",
+                        request("PUT", "/api/flights/" + id, loadFlight(id, random)));
+            }
+            //Only flights created by the load test are deleted, so updates never hit a missing flight
+            Long createdId = createdIds.poll();
+            if(createdId != null) {
+                return new FixedRateLoadGenerator.Operation("DELETE /api/flights/{id}",
+                        request("DELETE", "/api/flights/" + createdId, null));
+            }
+            return new FixedRateLoadGenerator.Operation("POST /api/flights",
+                    request("POST", "/api/flights", loadFlight(null, random)),
+                    body -> createdIds.add(readId(body)));
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private List<FlightDto> searchCheckRoute() throws IOException, InterruptedException {
+        ZonedDateTime from = ZonedDateTime.ofInstant(LoadTestData.FIRST_DEPARTURE, ZoneId.of("UTC"));
+        HttpResponse<String> response;
+        do {
+            //Crazy Supplier errors fail the whole search, try again
+            response = send("POST", "/api/flights/search",
+                    searchDto(CHECK_DEPARTURE_AIRPORT, CHECK_DESTINATION_AIRPORT, from, from.plusDays(LoadTestData.DAYS + 1)));
+        } while (response.statusCode() != 200);
+        return objectMapper.readValue(response.body(), FlightResponse.class).flightDtoList().stream()
+                .filter(flight -> !"Crazy Supplier".equals(flight.supplier()))
+                .toList();
+    }
+
+    private int countCheckRouteInDatabase() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM FLIGHT WHERE DEPARTURE_AIRPORT = ? AND DESTINATION_AIRPORT = ?",
+                Integer.class, CHECK_DEPARTURE_AIRPORT, CHECK_DESTINATION_AIRPORT);
+    }
+
+    private int countFlights() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM FLIGHT", Integer.class);
+    }
+
+    private FlightDto checkFlight(final Long id, final int sequence, final BigDecimal fare) {
+        ZonedDateTime departureTime = ZonedDateTime.ofInstant(LoadTestData.FIRST_DEPARTURE, ZoneId.of("UTC"))
+                .plusMinutes(sequence % (LoadTestData.DAYS * 24 * 60)).withNano(123_000_000);
+        return flightDto(id, "Swiss", fare, CHECK_DEPARTURE_AIRPORT, CHECK_DESTINATION_AIRPORT, departureTime);
+    }
+
+    private static FlightDto loadFlight(final Long id, final ThreadLocalRandom random) {
+        ZonedDateTime departureTime = ZonedDateTime.ofInstant(LoadTestData.FIRST_DEPARTURE, ZoneId.of("UTC"))
+                .plusMinutes(random.nextInt(LoadTestData.DAYS * 24 * 60)).withNano(123_000_000);
+        return flightDto(id, LoadTestData.AIRLINES[random.nextInt(LoadTestData.AIRLINES.length)],
+                BigDecimal.valueOf(5000 + random.nextInt(95000), 2), "AMS", "BCN", departureTime);
+    }
+
+    private static FlightDto flightDto(final Long id, final String airline, final BigDecimal fare, final String departureAirport,
+                                       final String destinationAirport, final ZonedDateTime departureTime) {
+        return FlightDto.builder()
+                .id(id)
+                .airline(airline)
+                .supplier("load-test")
+                .fare(fare)
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .departureTime(departureTime.format(DateTimeFormatter.ISO_DATE_TIME))
+                .arrivalTime(departureTime.plusHours(2).format(DateTimeFormatter.ISO_DATE_TIME))
+                .build();
+    }
+
+    private static FlightSearchDto searchDto(final String departureAirport, final String destinationAirport,
+                                             final ZonedDateTime from, final ZonedDateTime to) {
+        return FlightSearchDto.builder()
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .departureTime(from.withNano(1_000_000).format(DateTimeFormatter.ISO_DATE_TIME))
+                .arrivalTime(to.withNano(1_000_000).format(DateTimeFormatter.ISO_DATE_TIME))
+                .build();
+    }
+
+    private Long readId(final String body) {
+        try {
+            return objectMapper.readValue(body, FlightDto.class).id();
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private HttpResponse<String> send(final String method, final String path, final Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request(method, path, body), HttpResponse.BodyHandlers.ofString());
+        if(!path.equals("/api/flights/search")) {
+            assertEquals(2, response.statusCode() / 100, method + " " + path + " - " + response.body());
+        }
+        return response;
+    }
+
+    private HttpRequest request(final String method, final String path, final Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private static void writeReport(final List<LatencyRecorder.EndpointReport> reports) throws IOException {
+        StringBuilder report = new StringBuilder()
+                .append("Flight load test ").append(Instant.now()).append(System.lineSeparator())
+                .append(SETTINGS).append(System.lineSeparator());
+        reports.forEach(endpointReport -> report.append(endpointReport).append(System.lineSeparator()));
+        log.warn("{}{}", System.lineSeparator(), report);
+        Files.writeString(Path.of("target", "load-test-report.txt"), report);
+    }
+}
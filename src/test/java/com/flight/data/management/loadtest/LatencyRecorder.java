@@ -0,0 +1,64 @@
+package com.flight.data.management.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects latencies and errors per endpoint. Latency is measured from the time a request was scheduled, not sent,
+ * so queueing in the load generator shows up in the percentiles instead of hiding the slowdown.
+ */
+class LatencyRecorder {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    void record(final String endpoint, final long latencyNanos, final boolean error) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, name -> new EndpointStats());
+        stats.latencies.add(latencyNanos);
+        if(error) {
+            stats.errors.increment();
+        }
+    }
+
+    List<EndpointReport> report() {
+        List<EndpointReport> reports = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> {
+            List<Long> latencies = new ArrayList<>(stats.latencies);
+            Collections.sort(latencies);
+            reports.add(new EndpointReport(endpoint, latencies.size(), stats.errors.sum(),
+                    percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                    latencies.isEmpty() ? 0 : latencies.get(latencies.size() - 1) / 1_000_000.0));
+        });
+        reports.sort((first, second) -> first.endpoint().compareTo(second.endpoint()));
+        return reports;
+    }
+
+    private static double percentile(final List<Long> sortedLatencies, final int percentile) {
+        if(sortedLatencies.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+
+    private static class EndpointStats {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        private final LongAdder errors = new LongAdder();
+    }
+
+    record EndpointReport(String endpoint, long requests, long errors, double p50Millis, double p95Millis,
+                          double p99Millis, double maxMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-28s requests=%7d errors=%5d p50=%8.1fms p95=%8.1fms p99=%8.1fms max=%8.1fms",
+                    endpoint, requests, errors, p50Millis, p95Millis, p99Millis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.flight.data.management.loadtest;
+
+import com.flight.data.management.model.entity.EpochMicrosConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generated flights spread evenly over every route between {@link #AIRPORTS} and over {@link #DAYS} days.
+ */
+final class LoadTestData {
+
+    static final String[] AIRPORTS = {"AMS", "MAA", "CDG", "FCO", "BCN", "LHR", "FRA", "MAD"};
+
+    static final String[] AIRLINES = {"KLM", "Air France", "EasyJet", "Transavia", "Lufthansa"};
+
+    static final int DAYS = 30;
+
+    static final Instant FIRST_DEPARTURE = Instant.now().plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.DAYS);
+
+    private static final EpochMicrosConverter EPOCH_MICROS = new EpochMicrosConverter();
+
+    private LoadTestData() {
+    }
+
+    static void insertFlights(final JdbcTemplate jdbcTemplate, final int rows) {
+        final Long now = EPOCH_MICROS.convertToDatabaseColumn(Instant.now());
+        final long spacingSeconds = Math.max(1, Duration.ofDays(DAYS).toSeconds() / rows);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Instant departureTime = FIRST_DEPARTURE.plusSeconds(spacingSeconds * i);
+            int route = i % (AIRPORTS.length * (AIRPORTS.length - 1));
+            int departure = route / (AIRPORTS.length - 1);
+            int destination = (departure + 1 + route % (AIRPORTS.length - 1)) % AIRPORTS.length;
+            batch.add(new Object[]{
+                    AIRLINES[i % AIRLINES.length],
+                    "supplier" + (i % 3),
+                    BigDecimal.valueOf(50 + i % 950, 0).setScale(2),
+                    AIRPORTS[departure],
+                    AIRPORTS[destination],
+                    EPOCH_MICROS.convertToDatabaseColumn(departureTime),
+                    EPOCH_MICROS.convertToDatabaseColumn(departureTime.plus(Duration.ofMinutes(90 + i % 600))),
+                    "USER", now, "USER", now});
+            if(batch.size() == 1000) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        insert(jdbcTemplate, batch);
+    }
+
+    private static void insert(final JdbcTemplate jdbcTemplate, final List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO FLIGHT (AIRLINE, SUPPLIER, FARE, DEPARTURE_AIRPORT, DESTINATION_AIRPORT, " +
+                "DEPARTURE_TIME, ARRIVAL_TIME, CREATED_BY, CREATED_AT, UPDATED_BY, LAST_UPDATED_AT) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
@@ -0,0 +1,46 @@
+package com.flight.data.management.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from system properties so they can be passed on the Maven command line,
+ * e.g. mvn -Pload-test test -Dload.rate=200 -Dload.supplier.error-rate=0.05
+ */
+record LoadTestSettings(
+
+        //Rows generated in the FLIGHT table before the run
+        int flights,
+
+        //Requests started per second over all endpoints, independent of how fast responses come back
+        int requestsPerSecond,
+
+        Duration warmup,
+
+        Duration duration,
+
+        //Crazy Supplier latency follows a log normal distribution with this median and sigma
+        Duration supplierMedianLatency,
+
+        double supplierLatencySigma,
+
+        double supplierErrorRate,
+
+        //Flights returned per Crazy Supplier search
+        int supplierFlights,
+
+        //Concurrent writers in the consistency check
+        int writers) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.flights", 100_000),
+                Integer.getInteger("load.rate", 50),
+                Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 60)),
+                Duration.ofMillis(Integer.getInteger("load.supplier.median-latency-ms", 150)),
+                Double.parseDouble(System.getProperty("load.supplier.latency-sigma", "0.5")),
+                Double.parseDouble(System.getProperty("load.supplier.error-rate", "0.01")),
+                Integer.getInteger("load.supplier.flights", 50),
+                Integer.getInteger("load.writers", 8));
+    }
+}
@@ -0,0 +1,64 @@
+package com.flight.data.management.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactFlightResponseTest {
+
+    @Test
+    void testFrom_WriteRepeatedValuesOnce_AndTimesAsEpochMicros() {
+        FlightResponse flightResponse = FlightResponse.builder()
+                .flightDtoList(List.of(getFlightDto(1L, 0L, "KLM", "AMS", "MAA"), getFlightDto(2L, 3L, "KLM", "MAA", "AMS")))
+                .nextCursor("Mg")
+                .build();
+
+        CompactFlightResponse result = CompactFlightResponse.from(flightResponse);
+
+        assertEquals(List.of("KLM", "supplier1", "AMS", "MAA"), result.dictionary());
+        assertEquals(List.of(1L, 2L), result.id());
+        assertEquals(List.of(0L, 3L), result.version());
+        assertEquals(List.of(0, 0), result.airline());
+        assertEquals(List.of(1, 1), result.supplier());
+        assertEquals(List.of(2, 3), result.departureAirport());
+        assertEquals(List.of(3, 2), result.destinationAirport());
+        assertEquals(List.of(1744042029371407L, 1744042029371407L), result.departureTime());
+        assertEquals(List.of(1744074429500000L, 1744074429500000L), result.arrivalTime());
+        assertEquals("Mg", result.nextCursor());
+        assertEquals(flightResponse, result.toFlightResponse());
+    }
+
+    @Test
+    void testFrom_LeaveOutVersion_WhenNoFlightHasOne() {
+        FlightResponse flightResponse = FlightResponse.builder()
+                .flightDtoList(List.of(getFlightDto(null, null, "Transavia", "AMS", "FCO")))
+                .timedOutSources(List.of("Database"))
+                .failedSources(List.of("Crazy Supplier"))
+                .build();
+
+        CompactFlightResponse result = CompactFlightResponse.from(flightResponse);
+
+        assertNull(result.version());
+        assertEquals(List.of("Database"), result.timedOutSources());
+        assertEquals(List.of("Crazy Supplier"), result.failedSources());
+        assertEquals(flightResponse, result.toFlightResponse());
+    }
+
+    private static FlightDto getFlightDto(final Long id, final Long version, final String airline,
+                                          final String departureAirport, final String destinationAirport) {
+        return FlightDto.builder()
+                .id(id)
+                .version(version)
+                .airline(airline)
+                .supplier("supplier1")
+                .fare(new BigDecimal("200.50"))
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .departureTime("2025-04-07T16:07:09.371407Z[UTC]")
+                .arrivalTime("2025-04-08T01:07:09.5Z[UTC]")
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.flight.data.management.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpochMicrosConverterTest {
+
+    private final EpochMicrosConverter classUnderTest = new EpochMicrosConverter();
+
+    @Test
+    void testConvertToDatabaseColumn_RoundFractionHalfUpToMicros() {
+        assertEquals(1744042029371407L, classUnderTest.convertToDatabaseColumn(Instant.parse("2025-04-07T16:07:09.3714066Z")));
+        assertEquals(1744042029371406L, classUnderTest.convertToDatabaseColumn(Instant.parse("2025-04-07T16:07:09.3714064Z")));
+        assertEquals(1744042030000000L, classUnderTest.convertToDatabaseColumn(Instant.parse("2025-04-07T16:07:09.9999995Z")));
+        assertEquals(-500000L, classUnderTest.convertToDatabaseColumn(Instant.parse("1969-12-31T23:59:59.5Z")));
+        assertNull(classUnderTest.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void testConvertToEntityAttribute_ReturnInstantOfEpochMicros() {
+        assertEquals(Instant.parse("2025-04-07T16:07:09.371407Z"), classUnderTest.convertToEntityAttribute(1744042029371407L));
+        assertEquals(Instant.parse("1969-12-31T23:59:59.5Z"), classUnderTest.convertToEntityAttribute(-500000L));
+        assertNull(classUnderTest.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,155 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightBulkProperties;
+import com.flight.data.management.config.FlightRouteIndexProperties;
+import com.flight.data.management.exception.ValidationException;
+import com.flight.data.management.model.BulkFlightResponse;
+import com.flight.data.management.model.BulkItemStatus;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.util.TestDataUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class FlightBulkServiceTest {
+
+    private FlightBulkService classUnderTest;
+
+    @Mock
+    private FlightRepository mockFlightRepository;
+
+    @Mock
+    private EntityManager mockEntityManager;
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    private FlightChangeTracker flightChangeTracker;
+
+    @BeforeEach
+    void setUp() {
+        FlightRouteIndex flightRouteIndex = new FlightRouteIndex(mockFlightRepository, mockTransactionManager,
+                new FlightRouteIndexProperties(false, false));
+        flightChangeTracker = new FlightChangeTracker(TestDataUtil.getFlightETagProperties());
+        classUnderTest = new FlightBulkService(mockFlightRepository, mockEntityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), mockTransactionManager, flightRouteIndex,
+                new FlightBulkProperties(2, 5), flightChangeTracker);
+    }
+
+    @Test
+    void testCreateFlights_SaveValidFlightsInChunks_AndReportInvalidFlights() {
+        AtomicLong ids = new AtomicLong(1000);
+        when(mockFlightRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            flights.forEach(flight -> flight.setId(ids.getAndIncrement()));
+            return flights;
+        });
+
+        List<FlightDto> request = new ArrayList<>(List.of(TestDataUtil.getFlightDto(null), TestDataUtil.getFlightDto(null),
+                TestDataUtil.getFlightDtoWithInvalidDepartureArrivalTime(null), TestDataUtil.getFlightDto(null)));
+        BulkFlightResponse result = classUnderTest.createFlights(request);
+
+        assertEquals(3, result.succeeded());
+        assertEquals(1, result.failed());
+        assertEquals(BulkItemStatus.CREATED, result.results().get(0).status());
+        assertEquals(1000L, result.results().get(0).id());
+        assertEquals(BulkItemStatus.INVALID, result.results().get(2).status());
+        assertEquals(List.of("Invalid departure and arrival time."), result.results().get(2).errors());
+        assertEquals(1002L, result.results().get(3).id());
+        verify(mockFlightRepository, times(2)).saveAll(anyList());
+        verify(mockEntityManager, times(2)).flush();
+    }
+
+    @Test
+    void testCreateFlights_FailOnlyTheFailingChunk() {
+        when(mockFlightRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("Database error"))
+                .thenAnswer(invocation -> {
+                    List<Flight> flights = invocation.getArgument(0);
+                    flights.forEach(flight -> flight.setId(2000L));
+                    return flights;
+                });
+
+        BulkFlightResponse result = classUnderTest.createFlights(List.of(TestDataUtil.getFlightDto(null),
+                TestDataUtil.getFlightDto(null), TestDataUtil.getFlightDto(null)));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(BulkItemStatus.FAILED, result.results().get(0).status());
+        assertEquals(BulkItemStatus.FAILED, result.results().get(1).status());
+        assertEquals(BulkItemStatus.CREATED, result.results().get(2).status());
+    }
+
+    @Test
+    void testUpdateFlights_UpdateExistingFlights_AndReportMissingFlights() {
+        when(mockFlightRepository.findAllById(anyList())).thenReturn(List.of(TestDataUtil.getFlights().get(0)));
+        String eTag = flightChangeTracker.listETag();
+
+        BulkFlightResponse result = classUnderTest.updateFlights(List.of(TestDataUtil.getFlightDtoForUpdate(1L),
+                TestDataUtil.getFlightDtoForUpdate(99L)));
+
+        assertEquals(BulkItemStatus.UPDATED, result.results().get(0).status());
+        assertEquals(BulkItemStatus.NOT_FOUND, result.results().get(1).status());
+        assertNotEquals(eTag, flightChangeTracker.listETag());
+        verify(mockEntityManager, times(1)).flush();
+    }
+
+    @Test
+    void testUpdateFlights_ReportConflict_WhenFlightWasUpdatedSinceVersion() {
+        when(mockFlightRepository.findAllById(anyList())).thenReturn(TestDataUtil.getFlights());
+
+        BulkFlightResponse result = classUnderTest.updateFlights(List.of(TestDataUtil.getFlightDtoForUpdate(1L, 0L),
+                TestDataUtil.getFlightDtoForUpdate(2L, 5L)));
+
+        assertEquals(BulkItemStatus.UPDATED, result.results().get(0).status());
+        assertEquals(BulkItemStatus.CONFLICT, result.results().get(1).status());
+    }
+
+    @Test
+    void testDeleteFlights_DeleteExistingFlights_AndReportMissingFlights() {
+        when(mockFlightRepository.findExistingIds(anyList())).thenReturn(List.of(1L));
+
+        BulkFlightResponse result = classUnderTest.deleteFlights(List.of(1L, 99L));
+
+        assertEquals(BulkItemStatus.DELETED, result.results().get(0).status());
+        assertEquals(BulkItemStatus.NOT_FOUND, result.results().get(1).status());
+        verify(mockFlightRepository, times(1)).deleteAllByIdInBatch(anyCollection());
+    }
+
+    @Test
+    void testUpdateAndDeleteFlights_KeepListETag_WhenNoFlightChanged() {
+        when(mockFlightRepository.findAllById(anyList())).thenReturn(List.of());
+        when(mockFlightRepository.findExistingIds(anyList())).thenReturn(List.of());
+        String eTag = flightChangeTracker.listETag();
+
+        classUnderTest.updateFlights(List.of(TestDataUtil.getFlightDtoForUpdate(99L)));
+        classUnderTest.deleteFlights(List.of(99L));
+
+        assertEquals(eTag, flightChangeTracker.listETag());
+    }
+
+    @Test
+    void testCreateFlights_ThrowValidationException_WhenTooManyFlights() {
+        List<FlightDto> request = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            request.add(TestDataUtil.getFlightDto(null));
+        }
+
+        assertThrows(ValidationException.class, () -> classUnderTest.createFlights(request));
+        verify(mockFlightRepository, times(0)).saveAll(anyList());
+    }
+}
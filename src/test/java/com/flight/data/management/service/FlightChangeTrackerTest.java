@@ -0,0 +1,52 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightETagProperties;
+import com.flight.data.management.model.FlightSearchDto;
+import com.flight.data.management.util.TestDataUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightChangeTrackerTest {
+
+    //Long supplier window, so the search ETag does not roll over between two calls
+    private final FlightChangeTracker classUnderTest = new FlightChangeTracker(new FlightETagProperties(true, Duration.ofDays(365)));
+
+    @Test
+    void testETags_StayTheSame_UntilFlightsChange() {
+        String listETag = classUnderTest.listETag();
+        String searchETag = classUnderTest.searchETag(TestDataUtil.getFlightSearchDto());
+        assertEquals(listETag, classUnderTest.listETag());
+        assertEquals(searchETag, classUnderTest.searchETag(TestDataUtil.getFlightSearchDto()));
+        assertTrue(listETag.startsWith("W/\"") && listETag.endsWith("\""));
+
+        classUnderTest.flightsChanged();
+
+        assertNotEquals(listETag, classUnderTest.listETag());
+        assertNotEquals(searchETag, classUnderTest.searchETag(TestDataUtil.getFlightSearchDto()));
+    }
+
+    @Test
+    void testSearchETag_DiffersPerSearch() {
+        FlightSearchDto flightSearchDto = TestDataUtil.getFlightSearchDto();
+        FlightSearchDto otherSearch = FlightSearchDto.builder()
+                .departureAirport(flightSearchDto.departureAirport())
+                .destinationAirport(flightSearchDto.destinationAirport())
+                .departureTime(flightSearchDto.departureTime())
+                .arrivalTime(flightSearchDto.arrivalTime())
+                .limit(10)
+                .build();
+
+        assertNotEquals(classUnderTest.searchETag(flightSearchDto), classUnderTest.searchETag(otherSearch));
+    }
+
+    @Test
+    void testETags_AreNull_WhenDisabled() {
+        FlightChangeTracker disabled = new FlightChangeTracker(new FlightETagProperties(false, Duration.ofSeconds(30)));
+
+        assertNull(disabled.listETag());
+        assertNull(disabled.searchETag(TestDataUtil.getFlightSearchDto()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.flight.data.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.util.TestDataUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.flight.data.management.util.TestDataUtil.UTC_DATE_PATTERN;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class FlightExportServiceTest {
+
+    private FlightExportService classUnderTest;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private FlightRepository mockFlightRepository;
+
+    @Mock
+    private EntityManager mockEntityManager;
+
+    @BeforeEach
+    void setUp() {
+        classUnderTest = new FlightExportService(mockFlightRepository, mockEntityManager, objectMapper);
+    }
+
+    @Test
+    void testExportFlights_WriteOneJsonLinePerFlight_AndDetachEachFlight() throws Exception {
+        List<Flight> flights = TestDataUtil.getFlights();
+        when(mockFlightRepository.streamAllFlights()).thenReturn(flights.stream());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        classUnderTest.exportFlights(outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        FlightDto firstFlight = objectMapper.readValue(lines.get(0), FlightDto.class);
+        assertEquals(1L, firstFlight.id());
+        assertTrue(firstFlight.departureTime().matches(UTC_DATE_PATTERN));
+        verify(mockEntityManager, times(2)).detach(any());
+    }
+}
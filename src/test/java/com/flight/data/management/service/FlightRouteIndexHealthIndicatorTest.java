@@ -0,0 +1,56 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightRouteIndexProperties;
+import com.flight.data.management.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class FlightRouteIndexHealthIndicatorTest {
+
+    private FlightRouteIndexHealthIndicator classUnderTest;
+
+    @Mock
+    private FlightRouteIndex mockFlightRouteIndex;
+
+    @Mock
+    private FlightRepository mockFlightRepository;
+
+    @BeforeEach
+    void setUp() {
+        classUnderTest = new FlightRouteIndexHealthIndicator(mockFlightRouteIndex, mockFlightRepository,
+                new FlightRouteIndexProperties(true, false));
+    }
+
+    @Test
+    void testHealth_ReportUpWithDrift_WhenCountsDiffer() {
+        when(mockFlightRouteIndex.isReady()).thenReturn(true);
+        when(mockFlightRouteIndex.getBuiltAt()).thenReturn(Instant.now());
+        when(mockFlightRouteIndex.size()).thenReturn(9);
+        when(mockFlightRepository.count()).thenReturn(10L);
+
+        Health health = classUnderTest.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1L, health.getDetails().get("drift"));
+    }
+
+    @Test
+    void testHealth_ReportDown_WhenBuildFailed() {
+        when(mockFlightRouteIndex.getBuildFailure()).thenReturn(new IllegalStateException("database unavailable"));
+
+        Health health = classUnderTest.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+}
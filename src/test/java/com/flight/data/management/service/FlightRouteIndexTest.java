@@ -0,0 +1,146 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightRouteIndexProperties;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.util.TestDataUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class FlightRouteIndexTest {
+
+    private FlightRouteIndex classUnderTest;
+
+    private List<Flight> flights;
+
+    @Mock
+    private FlightRepository mockFlightRepository;
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    @BeforeEach
+    void setUp() {
+        flights = TestDataUtil.getFlights();
+        when(mockFlightRepository.streamAllFlights()).thenReturn(flights.stream());
+
+        classUnderTest = new FlightRouteIndex(mockFlightRepository, mockTransactionManager, new FlightRouteIndexProperties(true, false));
+        classUnderTest.build();
+    }
+
+    @Test
+    void testSearchFlights_ReturnFlightsOnRouteWithinTimeWindow() {
+        Flight klmFlight = flights.get(0);
+
+        List<FlightDto> result = classUnderTest.searchFlights(null, "AMS", "MAA",
+                klmFlight.getDepartureTime().minus(Duration.ofMinutes(1)), klmFlight.getArrivalTime());
+
+        assertTrue(classUnderTest.isReady());
+        assertEquals(2, classUnderTest.size());
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+    }
+
+    @Test
+    void testSearchFlights_ReturnNoFlights_WhenOutsideTimeWindowOrAirlineDiffers() {
+        Flight klmFlight = flights.get(0);
+
+        assertTrue(classUnderTest.searchFlights(null, "AMS", "MAA",
+                klmFlight.getDepartureTime().plus(Duration.ofMinutes(1)), klmFlight.getArrivalTime()).isEmpty());
+        assertTrue(classUnderTest.searchFlights(null, "AMS", "MAA",
+                klmFlight.getDepartureTime(), klmFlight.getArrivalTime().minus(Duration.ofMinutes(1))).isEmpty());
+        assertTrue(classUnderTest.searchFlights("Air France", "AMS", "MAA",
+                klmFlight.getDepartureTime(), klmFlight.getArrivalTime()).isEmpty());
+    }
+
+    @Test
+    void testPut_MoveFlightToNewRoute_WhenFlightIsUpdated() {
+        Flight klmFlight = flights.get(0);
+        Instant departureTime = klmFlight.getDepartureTime();
+        Instant arrivalTime = klmFlight.getArrivalTime();
+        klmFlight.setDestinationAirport("FCO");
+
+        classUnderTest.put(klmFlight);
+
+        assertEquals(2, classUnderTest.size());
+        assertTrue(classUnderTest.searchFlights(null, "AMS", "MAA", departureTime, arrivalTime).isEmpty());
+        assertEquals(1, classUnderTest.searchFlights(null, "AMS", "FCO", departureTime, arrivalTime).size());
+    }
+
+    @Test
+    void testRemove_RemoveFlightFromIndex() {
+        Flight klmFlight = flights.get(0);
+
+        classUnderTest.remove(klmFlight.getId());
+
+        assertEquals(1, classUnderTest.size());
+        assertTrue(classUnderTest.searchFlights(null, "AMS", "MAA",
+                klmFlight.getDepartureTime(), klmFlight.getArrivalTime()).isEmpty());
+    }
+
+    @Test
+    void testPut_IgnoreFlight_WhenOlderThanIndexedVersion() {
+        Flight klmFlight = flights.get(0);
+        Instant departureTime = klmFlight.getDepartureTime();
+        Instant arrivalTime = klmFlight.getArrivalTime();
+        klmFlight.setVersion(2L);
+        classUnderTest.put(klmFlight);
+
+        Flight staleFlight = TestDataUtil.getFlights().get(0);
+        staleFlight.setDestinationAirport("FCO");
+        staleFlight.setVersion(1L);
+        classUnderTest.put(staleFlight);
+
+        assertEquals(1, classUnderTest.searchFlights(null, "AMS", "MAA", departureTime, arrivalTime).size());
+        assertTrue(classUnderTest.searchFlights(null, "AMS", "FCO", departureTime, arrivalTime).isEmpty());
+    }
+
+    @Test
+    void testPut_IgnoreFlight_WhenRemovedBefore() {
+        Flight klmFlight = flights.get(0);
+
+        classUnderTest.remove(klmFlight.getId());
+        classUnderTest.put(klmFlight);
+
+        assertEquals(1, classUnderTest.size());
+    }
+
+    @Test
+    void testBuild_SkipFlight_WhenRemovedWhileBuilding() {
+        FlightRouteIndex index = new FlightRouteIndex(mockFlightRepository, mockTransactionManager,
+                new FlightRouteIndexProperties(true, false));
+        when(mockFlightRepository.streamAllFlights()).thenReturn(TestDataUtil.getFlights().stream());
+
+        index.remove(1L);
+        index.build();
+
+        assertEquals(1, index.size());
+        Flight klmFlight = flights.get(0);
+        assertTrue(index.searchFlights(null, "AMS", "MAA", klmFlight.getDepartureTime(), klmFlight.getArrivalTime()).isEmpty());
+    }
+
+    @Test
+    void testBuild_StayNotReady_WhenBuildFails() {
+        FlightRouteIndex index = new FlightRouteIndex(mockFlightRepository, mockTransactionManager,
+                new FlightRouteIndexProperties(true, false));
+        when(mockFlightRepository.streamAllFlights()).thenThrow(new IllegalStateException("database unavailable"));
+
+        index.build();
+
+        assertFalse(index.isReady());
+        assertInstanceOf(IllegalStateException.class, index.getBuildFailure());
+    }
+}
@@ -0,0 +1,69 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightSortOrder;
+import com.flight.data.management.service.FlightSearchResultMerger.RankedFlight;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightSearchResultMergerTest {
+
+    private static final String DEPARTURE = "2025-04-07T10:00:00.5Z[UTC]";
+
+    @Test
+    void testRank_KeepBestFlightsInOrder_WhenSourceExceedsLimit() {
+        List<FlightDto> flights = List.of(getFlight("KLM", "300", DEPARTURE, "2025-04-07T12:00:00.5Z[UTC]"),
+                getFlight("TUI", "100", DEPARTURE, "2025-04-07T13:00:00.5Z[UTC]"),
+                getFlight("Ryanair", "200", DEPARTURE, "2025-04-07T14:00:00.5Z[UTC]"),
+                getFlight("Vueling", "150", DEPARTURE, "2025-04-07T15:00:00.5Z[UTC]"));
+
+        List<RankedFlight> result = FlightSearchResultMerger.rank(flights, FlightSortOrder.FARE, 2);
+
+        assertEquals(List.of("TUI", "Vueling"), result.stream().map(rankedFlight -> rankedFlight.flight().airline()).toList());
+    }
+
+    @Test
+    void testMerge_ReturnTopFlightsAcrossSources_CollapsingDuplicatesToCheapest() {
+        FlightDto databaseFlight = getFlight("KLM", "300", DEPARTURE, "2025-04-07T12:00:00.5Z[UTC]");
+        FlightDto cheaperDuplicate = getFlight("KLM", "250", DEPARTURE, "2025-04-07T12:00:00.5Z[UTC]");
+        FlightDto longFlight = getFlight("TUI", "100", DEPARTURE, "2025-04-07T18:00:00.5Z[UTC]");
+        FlightDto shortFlight = getFlight("Ryanair", "200", DEPARTURE, "2025-04-07T11:00:00.5Z[UTC]");
+
+        List<FlightDto> result = FlightSearchResultMerger.merge(List.of(
+                FlightSearchResultMerger.rank(List.of(databaseFlight, longFlight), FlightSortOrder.DURATION, 2),
+                FlightSearchResultMerger.rank(List.of(shortFlight, cheaperDuplicate), FlightSortOrder.DURATION, 2)),
+                FlightSortOrder.DURATION, 2);
+
+        assertEquals(List.of(shortFlight, cheaperDuplicate), result);
+    }
+
+    @Test
+    void testMerge_KeepSourceOrder_AndCollapseDuplicates_WithoutSortOrder() {
+        FlightDto databaseFlight = getFlight("KLM", "300", DEPARTURE, "2025-04-07T12:00:00.5Z[UTC]");
+        FlightDto otherDatabaseFlight = getFlight("TUI", "100", DEPARTURE, "2025-04-07T18:00:00.5Z[UTC]");
+        FlightDto cheaperDuplicate = getFlight("KLM", "250", DEPARTURE, "2025-04-07T12:00:00.5Z[UTC]");
+
+        List<FlightDto> result = FlightSearchResultMerger.merge(List.of(
+                FlightSearchResultMerger.rank(List.of(databaseFlight, otherDatabaseFlight), null, Integer.MAX_VALUE),
+                FlightSearchResultMerger.rank(List.of(cheaperDuplicate), null, Integer.MAX_VALUE)),
+                null, Integer.MAX_VALUE);
+
+        assertEquals(List.of(cheaperDuplicate, otherDatabaseFlight), result);
+    }
+
+    private static FlightDto getFlight(final String airline, final String fare, final String departureTime, final String arrivalTime) {
+        return FlightDto.builder()
+                .airline(airline)
+                .supplier("Supplier")
+                .fare(new BigDecimal(fare))
+                .departureAirport("AMS")
+                .destinationAirport("MAA")
+                .departureTime(departureTime)
+                .arrivalTime(arrivalTime)
+                .build();
+    }
+}
@@ -1,20 +1,57 @@
 package com.flight.data.management.service;
 
-import com.flight.data.management.exception.CrazySupplierException;
+import com.flight.data.management.config.AsyncConfig;
+import com.flight.data.management.config.FlightRouteIndexProperties;
+import com.flight.data.management.config.FlightSearchMetricsProperties;
+import com.flight.data.management.config.FlightSearchProperties;
+import com.flight.data.management.config.FlightSupplierProperties;
+import com.flight.data.management.exception.ConflictException;
 import com.flight.data.management.exception.ResourceNotFoundException;
+import com.flight.data.management.exception.ValidationException;
 import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.model.FlightResponse;
+import com.flight.data.management.model.FlightSearchBatch;
+import com.flight.data.management.model.FlightSearchDto;
+import com.flight.data.management.model.FlightSearchSourceStatus;
+import com.flight.data.management.model.FlightSortOrder;
+import com.flight.data.management.model.SearchSourceStatus;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.model.projection.FlightProjection;
 import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.repository.FlightSearchCriteria;
 import com.flight.data.management.service.client.CrazySupplierClient;
+import com.flight.data.management.service.client.CrazySupplierFlightSupplier;
+import com.flight.data.management.service.client.CrazySupplierGateway;
+import com.flight.data.management.service.client.CrazySupplierSearchCache;
 import com.flight.data.management.util.TestDataUtil;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static com.flight.data.management.util.TestDataUtil.UTC_DATE_PATTERN;
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,22 +68,90 @@ class FlightServiceTest {
     @Mock
     private CrazySupplierClient mockCrazySupplierClient;
 
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    private CrazySupplierGateway crazySupplierGateway;
+
+    private CrazySupplierSearchCache crazySupplierSearchCache;
+
+    private ExecutorService flightSearchExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
-        classUnderTest = new FlightService(mockFlightRepository, mockCrazySupplierClient);
+        meterRegistry = new SimpleMeterRegistry();
+        flightSearchExecutor = Executors.newFixedThreadPool(2);
+        crazySupplierGateway = TestDataUtil.getCrazySupplierGateway(mockCrazySupplierClient, Duration.ofSeconds(2));
+        crazySupplierSearchCache = new CrazySupplierSearchCache(crazySupplierGateway,
+                TestDataUtil.getCrazySupplierCacheProperties(false), new SimpleMeterRegistry());
+        classUnderTest = createFlightService(TestDataUtil.getFlightSearchProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightSearchExecutor.shutdownNow();
+        crazySupplierGateway.shutdown();
+    }
+
+    private FlightService createFlightService(final FlightSearchProperties flightSearchProperties) {
+        return createFlightService(flightSearchProperties, flightSearchExecutor);
+    }
+
+    private FlightService createFlightService(final FlightSearchProperties flightSearchProperties, final Executor executor) {
+        FlightRouteIndexProperties flightRouteIndexProperties = new FlightRouteIndexProperties(false, false);
+        FlightRouteIndex flightRouteIndex = new FlightRouteIndex(mockFlightRepository, mockTransactionManager, flightRouteIndexProperties);
+        FlightSearchMetrics flightSearchMetrics = new FlightSearchMetrics(meterRegistry, new FlightSearchMetricsProperties(List.of("AMS-MAA")));
+        FlightSupplierAggregator flightSupplierAggregator = new FlightSupplierAggregator(
+                List.of(new CrazySupplierFlightSupplier(crazySupplierSearchCache)), new FlightSupplierProperties(Map.of()),
+                flightSearchProperties, BulkheadRegistry.ofDefaults(), flightSearchMetrics);
+        return new FlightService(mockFlightRepository, flightSupplierAggregator, executor,
+                flightSearchProperties, TestDataUtil.getFlightPageProperties(), flightRouteIndex, flightRouteIndexProperties,
+                flightSearchMetrics, new FlightChangeTracker(TestDataUtil.getFlightETagProperties()),
+                new TransactionTemplate(mockTransactionManager));
+    }
+
+    //The version increment Hibernate does on flush
+    private static Flight flushed(final Flight flight) {
+        flight.setVersion(flight.getVersion() + 1);
+        return flight;
     }
 
     @Test
     void testGetFlights_ReturnAllFlights() {
-        when(mockFlightRepository.findAll()).thenReturn(TestDataUtil.getFlights());
+        when(mockFlightRepository.findFlightPage(anyLong(), any())).thenReturn(TestDataUtil.getFlightProjections());
+
+        FlightResponse result = classUnderTest.getFlights(null, null);
+
+        assertFalse(result.flightDtoList().isEmpty());
+        assertEquals(2, result.flightDtoList().size());
+        assertNull(result.nextCursor());
+
+        assertTrue(result.flightDtoList().get(0).departureTime().matches(UTC_DATE_PATTERN));
+        verify(mockFlightRepository, times(1)).findFlightPage(eq(Long.MIN_VALUE), argThat(limit -> limit.max() == 101));
+    }
+
+    @Test
+    void testGetFlights_ReturnNextCursor_WhenMoreFlightsExist() {
+        when(mockFlightRepository.findFlightPage(anyLong(), any())).thenReturn(TestDataUtil.getFlightProjections());
+
+        FlightResponse firstPage = classUnderTest.getFlights(null, 1);
+
+        assertEquals(1, firstPage.flightDtoList().size());
+        assertNotNull(firstPage.nextCursor());
 
-        List<FlightDto> result = classUnderTest.getFlights();
+        classUnderTest.getFlights(firstPage.nextCursor(), 1);
+        verify(mockFlightRepository, times(1)).findFlightPage(eq(1L), argThat(limit -> limit.max() == 2));
+    }
 
-        assertFalse(result.isEmpty());
-        assertEquals(2, result.size());
+    @Test
+    void testGetFlights_ThrowValidationException_WhenCursorOrPageSizeIsInvalid() {
+        assertThrows(ValidationException.class, () -> classUnderTest.getFlights("not a cursor", null));
+        assertThrows(ValidationException.class, () -> classUnderTest.getFlights(null, 0));
+        assertThrows(ValidationException.class, () -> classUnderTest.getFlights(null, 1001));
 
-        assertTrue(result.get(0).departureTime().matches(UTC_DATE_PATTERN));
-        verify(mockFlightRepository, times(1)).findAll();
+        verify(mockFlightRepository, times(0)).findFlightPage(anyLong(), any());
     }
 
     @Test
@@ -61,39 +166,75 @@ class FlightServiceTest {
     }
 
     @Test
-    void testUpdateFlight_UpdateFlightSuccessfully() {
-        when(mockFlightRepository.findById(anyLong())).thenReturn(Optional.of(TestDataUtil.getFlights().get(0)));
-        when(mockFlightRepository.save(any())).thenReturn(TestDataUtil.getFlights().get(0));
+    void testUpdateFlight_UpdateFlightSuccessfully_AndReturnStoredFlightWithItsVersion() {
+        Flight storedFlight = TestDataUtil.getFlights().get(0);
+        storedFlight.setVersion(5L);
+        when(mockFlightRepository.findById(1L)).thenReturn(Optional.of(storedFlight));
+        when(mockFlightRepository.saveAndFlush(any())).thenAnswer(invocation -> flushed(invocation.getArgument(0)));
 
         FlightDto flightDataToUpdate = TestDataUtil.getFlightDto(1L);
         FlightDto result = classUnderTest.updateFlight(1L, flightDataToUpdate);
 
         assertEquals(1L, result.id());
+        assertEquals(6L, result.version());
         assertTrue(result.departureTime().matches(UTC_DATE_PATTERN));
-        verify(mockFlightRepository, times(1)).findById(any());
-        verify(mockFlightRepository, times(1)).save(any());
+        verify(mockFlightRepository, times(1)).saveAndFlush(storedFlight);
+        verify(mockFlightRepository, times(0)).save(any());
+    }
+
+    @Test
+    void testUpdateFlight_ReturnNextVersion_WhenVersionMatches() {
+        Flight storedFlight = TestDataUtil.getFlights().get(0);
+        storedFlight.setVersion(3L);
+        when(mockFlightRepository.findById(1L)).thenReturn(Optional.of(storedFlight));
+        when(mockFlightRepository.saveAndFlush(any())).thenAnswer(invocation -> flushed(invocation.getArgument(0)));
+
+        FlightDto result = classUnderTest.updateFlight(1L, TestDataUtil.getFlightDtoForUpdate(1L, 3L));
+
+        assertEquals(4L, result.version());
+    }
+
+    @Test
+    void testUpdateFlight_ThrowConflictException_WhenFlightWasUpdatedSinceVersion() {
+        Flight storedFlight = TestDataUtil.getFlights().get(0);
+        storedFlight.setVersion(4L);
+        when(mockFlightRepository.findById(1L)).thenReturn(Optional.of(storedFlight));
+
+        FlightDto flightDataToUpdate = TestDataUtil.getFlightDtoForUpdate(1L, 3L);
+        assertThrows(ConflictException.class, () -> classUnderTest.updateFlight(1L, flightDataToUpdate));
+
+        verify(mockFlightRepository, times(0)).saveAndFlush(any());
+    }
+
+    @Test
+    void testUpdateFlight_ThrowConflictException_WhenFlightIsUpdatedWhileUpdating() {
+        Flight storedFlight = TestDataUtil.getFlights().get(0);
+        storedFlight.setVersion(3L);
+        when(mockFlightRepository.findById(1L)).thenReturn(Optional.of(storedFlight));
+        when(mockFlightRepository.saveAndFlush(any())).thenThrow(new ObjectOptimisticLockingFailureException(Flight.class, 1L));
+
+        FlightDto flightDataToUpdate = TestDataUtil.getFlightDtoForUpdate(1L, 3L);
+        assertThrows(ConflictException.class, () -> classUnderTest.updateFlight(1L, flightDataToUpdate));
     }
 
     @Test
     void testUpdateFlight_ThrowResourceNotFoundException_WhenFlightNotExists() {
-        when(mockFlightRepository.findById(any())).thenReturn(Optional.empty());
+        when(mockFlightRepository.findById(1L)).thenReturn(Optional.empty());
 
         FlightDto flightDataToUpdate = TestDataUtil.getFlightDto(1L);
         assertThrows(ResourceNotFoundException.class, () -> classUnderTest.updateFlight(1L, flightDataToUpdate));
 
-        verify(mockFlightRepository, times(1)).findById(any());
-        verify(mockFlightRepository, times(0)).save(any());
+        verify(mockFlightRepository, times(0)).saveAndFlush(any());
     }
 
     @Test
     void testDeleteFlight_DeleteFlightSuccessfully() {
-        when(mockFlightRepository.findById(anyLong())).thenReturn(Optional.of(TestDataUtil.getFlights().get(1)));
-        doNothing().when(mockFlightRepository).delete(any());
+        Flight storedFlight = TestDataUtil.getFlights().get(0);
+        when(mockFlightRepository.findById(1L)).thenReturn(Optional.of(storedFlight));
 
         classUnderTest.deleteFlight(1L);
 
-        verify(mockFlightRepository, times(1)).findById(any());
-        verify(mockFlightRepository, times(1)).delete(any());
+        verify(mockFlightRepository, times(1)).delete(storedFlight);
     }
 
     @Test
@@ -102,39 +243,273 @@ class FlightServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> classUnderTest.deleteFlight(1L));
 
-        verify(mockFlightRepository, times(1)).findById(any());
         verify(mockFlightRepository, times(0)).delete(any());
     }
 
     @Test
     void testSearchFlights_ReturnFlights_BasedOnFliters() {
-        when(mockFlightRepository.searchFlights(anyString(), anyString(), anyString(), any(), any()))
-                .thenReturn(TestDataUtil.getFlights());
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
 
         when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
                 .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
 
-        List<FlightDto> result = classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto());
+        FlightResponse result = classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto());
 
-        assertFalse(result.isEmpty());
-        assertEquals(3, result.size());
-        assertTrue(result.get(0).arrivalTime().matches(UTC_DATE_PATTERN));
-        verify(mockFlightRepository, times(1)).searchFlights(anyString(), anyString(), anyString(), any(), any());
+        assertFalse(result.flightDtoList().isEmpty());
+        assertEquals(3, result.flightDtoList().size());
+        assertTrue(result.flightDtoList().get(0).arrivalTime().matches(UTC_DATE_PATTERN));
+        assertNull(result.timedOutSources());
+        verify(mockFlightRepository, times(1)).searchFlights(any(FlightSearchCriteria.class));
         verify(mockCrazySupplierClient, times(1)).searchCrazySupplierFlights(any());
     }
 
     @Test
-    void testSearchFlights_Throws_CrazySupplierException() {
-        when(mockFlightRepository.searchFlights(anyString(), anyString(), anyString(), any(), any()))
-                .thenReturn(TestDataUtil.getFlights());
+    void testSearchFlights_RecordPhaseTimersAndSupplierOutcome_PerRouteClass() {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
+
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto());
+        classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto());
+
+        String routeClass = "AMS-MAA";
+        for(String phase : List.of("database", "supplier", "mapping", "merge")) {
+            assertTrue(meterRegistry.get("flight.search.phase").tag("phase", phase).tag("route", routeClass).timer().count() > 0);
+        }
+        assertEquals(2, meterRegistry.get("flight.search.supplier.calls").tag("supplier", "Crazy Supplier").tag("outcome", "success").tag("route", routeClass).counter().count());
+        assertEquals(2, meterRegistry.get("flight.search.results").tag("source", "Database").tag("route", routeClass).summary().count());
+    }
+
+    @Test
+    void testSearchFlights_ReturnDatabaseFlights_WhenCrazySupplierTimedOut() {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
+
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse());
+        });
+
+        classUnderTest = createFlightService(new FlightSearchProperties(true, Duration.ofSeconds(2), Duration.ofMillis(100), 2, 10, Duration.ofSeconds(10)));
+        FlightResponse result = classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto());
+
+        assertEquals(2, result.flightDtoList().size());
+        assertEquals(List.of("Crazy Supplier"), result.timedOutSources());
+        assertEquals(1, meterRegistry.get("flight.search.supplier.calls").tag("outcome", "timeout").counter().count());
+    }
+
+    @Test
+    void testSearchFlightsAsync_ReturnBeforeCrazySupplierAnswers() throws Exception {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
+
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenAnswer(invocation -> {
+            releaseCall.await();
+            return ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse());
+        });
+
+        CompletableFuture<FlightResponse> search = classUnderTest.searchFlightsAsync(TestDataUtil.getFlightSearchDto());
+        assertFalse(search.isDone());
+        releaseCall.countDown();
+
+        FlightResponse result = search.get(2, TimeUnit.SECONDS);
+        assertEquals(3, result.flightDtoList().size());
+        assertNull(result.timedOutSources());
+    }
+
+    @Test
+    void testSearchFlightsAsync_RejectSearch_WhenSearchExecutorIsSaturated() throws Exception {
+        FlightSearchProperties flightSearchProperties = new FlightSearchProperties(true, Duration.ofSeconds(2), Duration.ofSeconds(3), 1, 0, Duration.ofSeconds(10));
+        ThreadPoolTaskExecutor saturatedExecutor = new AsyncConfig().flightSearchExecutor(flightSearchProperties);
+        saturatedExecutor.initialize();
+        CountDownLatch releaseSearch = new CountDownLatch(1);
+        try {
+            saturatedExecutor.execute(() -> {
+                try {
+                    releaseSearch.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            FlightService flightService = createFlightService(flightSearchProperties, saturatedExecutor);
+
+            assertThrows(RejectedExecutionException.class, () -> flightService.searchFlightsAsync(TestDataUtil.getFlightSearchDto()));
+            //Not run on the calling thread and not sent to the suppliers either
+            verify(mockFlightRepository, never()).searchFlights(any(FlightSearchCriteria.class));
+            verify(mockCrazySupplierClient, never()).searchCrazySupplierFlights(any());
+        } finally {
+            releaseSearch.countDown();
+            saturatedExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testSearchFlights_CallSourcesSequentially_WhenConcurrentModeDisabled() {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
+
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        classUnderTest = createFlightService(new FlightSearchProperties(false, Duration.ofSeconds(2), Duration.ofSeconds(3), 2, 10, Duration.ofSeconds(10)));
+        FlightResponse result = classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto());
+
+        assertEquals(3, result.flightDtoList().size());
+        assertNull(result.timedOutSources());
+    }
+
+    @Test
+    void testSearchFlights_ReturnDatabaseFlights_AndReportFailedSource_WhenCrazySupplierFails() {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
 
         when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
                 .thenReturn(ResponseEntity.internalServerError().body(TestDataUtil.getCrazySupplierSearchResponse()));
 
-        assertThrows(CrazySupplierException.class, () -> classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto()));
+        FlightResponse result = classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto());
+
+        assertEquals(2, result.flightDtoList().size());
+        assertEquals(List.of("Crazy Supplier"), result.failedSources());
+        assertNull(result.timedOutSources());
 
-        verify(mockFlightRepository, times(1)).searchFlights(anyString(), anyString(), anyString(), any(), any());
+        verify(mockFlightRepository, times(1)).searchFlights(any(FlightSearchCriteria.class));
         verify(mockCrazySupplierClient, times(1)).searchCrazySupplierFlights(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testSearchFlightsProgressively_PublishDatabaseFlights_BeforeCrazySupplierAnswers() throws Exception {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
+
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenAnswer(invocation -> {
+            releaseCall.await();
+            return ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse());
+        });
+
+        List<FlightSearchBatch> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch databaseBatch = new CountDownLatch(1);
+        CompletableFuture<List<FlightSearchSourceStatus>> search = classUnderTest.searchFlightsProgressively(
+                TestDataUtil.getFlightSearchDto(), batch -> {
+                    batches.add(batch);
+                    databaseBatch.countDown();
+                });
+
+        assertTrue(databaseBatch.await(2, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+        assertEquals("Database", batches.get(0).source());
+        assertFalse(search.isDone());
+        releaseCall.countDown();
+
+        List<FlightSearchSourceStatus> result = search.get(2, TimeUnit.SECONDS);
+        assertEquals(List.of("Database", "Crazy Supplier"), batches.stream().map(FlightSearchBatch::source).toList());
+        assertEquals(List.of(new FlightSearchSourceStatus("Database", SearchSourceStatus.COMPLETED, 2),
+                new FlightSearchSourceStatus("Crazy Supplier", SearchSourceStatus.COMPLETED, 1)), result);
+    }
+
+    @Test
+    void testSearchFlightsProgressively_ReportFailedSupplier_WithoutFailingSearch() throws Exception {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
+
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenReturn(ResponseEntity.internalServerError().build());
+
+        List<FlightSearchBatch> batches = new CopyOnWriteArrayList<>();
+        List<FlightSearchSourceStatus> result = classUnderTest.searchFlightsProgressively(TestDataUtil.getFlightSearchDto(), batches::add)
+                .get(2, TimeUnit.SECONDS);
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).flightDtoList().size());
+        assertEquals(SearchSourceStatus.FAILED, result.get(1).status());
+    }
+
+    @Test
+    void testSearchFlights_ReturnCheapestFlightsAcrossSources_WhenSortedByFareWithLimit() {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
+
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        FlightSearchDto flightSearchDto = TestDataUtil.getFlightSearchDto();
+        FlightResponse result = classUnderTest.searchFlights(FlightSearchDto.builder()
+                .airline(flightSearchDto.airline())
+                .departureAirport(flightSearchDto.departureAirport())
+                .destinationAirport(flightSearchDto.destinationAirport())
+                .departureTime(flightSearchDto.departureTime())
+                .arrivalTime(flightSearchDto.arrivalTime())
+                .sortBy(FlightSortOrder.FARE)
+                .limit(2)
+                .build());
+
+        assertEquals(2, result.flightDtoList().size());
+        assertEquals("Crazy Supplier", result.flightDtoList().get(0).supplier());
+        assertEquals(0, new BigDecimal("200.50").compareTo(result.flightDtoList().get(0).fare()));
+        assertEquals(0, new BigDecimal("1200").compareTo(result.flightDtoList().get(1).fare()));
+    }
+
+    @Test
+    void testSearchFlights_PassFiltersToDatabaseQuery_AndApplyThemToSupplierFlights() {
+        when(mockFlightRepository.searchFlights(any(FlightSearchCriteria.class)))
+                .thenReturn(TestDataUtil.getFlightProjections());
+
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        FlightSearchDto flightSearchDto = TestDataUtil.getFlightSearchDto();
+        FlightResponse result = classUnderTest.searchFlights(FlightSearchDto.builder()
+                .airline(flightSearchDto.airline())
+                .departureAirport(flightSearchDto.departureAirport())
+                .destinationAirport(flightSearchDto.destinationAirport())
+                .departureTime(flightSearchDto.departureTime())
+                .arrivalTime(flightSearchDto.arrivalTime())
+                .minFare(new BigDecimal("1000"))
+                .sortBy(FlightSortOrder.FARE)
+                .limit(5)
+                .build());
+
+        ArgumentCaptor<FlightSearchCriteria> criteria = ArgumentCaptor.forClass(FlightSearchCriteria.class);
+        verify(mockFlightRepository, times(1)).searchFlights(criteria.capture());
+        assertEquals(0, new BigDecimal("1000").compareTo(criteria.getValue().minFare()));
+        assertEquals(FlightSortOrder.FARE, criteria.getValue().sortBy());
+        assertEquals(5, criteria.getValue().limit());
+        //The supplier flight is cheaper than the minimum fare
+        assertTrue(result.flightDtoList().stream().noneMatch(flight -> "Crazy Supplier".equals(flight.supplier())));
+    }
+
+    @Test
+    void testSearchFlights_FetchMoreDatabaseFlights_WhenDuplicatesSitAtLimitBoundary() {
+        FlightProjection flight = TestDataUtil.getFlightProjections().get(0);
+        //Same airline, route and times from another supplier, sorted right behind the cheaper one
+        FlightProjection duplicate = new FlightProjection(3L, flight.airline(), "supplier3", new BigDecimal(1250),
+                flight.departureAirport(), flight.destinationAirport(), flight.departureTime(), flight.arrivalTime(), 0L);
+        FlightProjection nextFlight = new FlightProjection(4L, flight.airline(), "supplier4", new BigDecimal(1400),
+                flight.departureAirport(), flight.destinationAirport(), flight.departureTime().plus(Duration.ofHours(1)),
+                flight.arrivalTime().plus(Duration.ofHours(1)), 0L);
+        when(mockFlightRepository.searchFlights(argThat(criteria -> criteria != null && criteria.limit() == 2)))
+                .thenReturn(List.of(flight, duplicate));
+        when(mockFlightRepository.searchFlights(argThat(criteria -> criteria != null && criteria.limit() == 4)))
+                .thenReturn(List.of(flight, duplicate, nextFlight));
+
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        FlightSearchDto flightSearchDto = TestDataUtil.getFlightSearchDto();
+        FlightResponse result = classUnderTest.searchFlights(FlightSearchDto.builder()
+                .airline(flightSearchDto.airline())
+                .departureAirport(flightSearchDto.departureAirport())
+                .destinationAirport(flightSearchDto.destinationAirport())
+                .departureTime(flightSearchDto.departureTime())
+                .arrivalTime(flightSearchDto.arrivalTime())
+                .sortBy(FlightSortOrder.FARE)
+                .limit(2)
+                .build());
+
+        assertEquals(List.of(1L, 4L), result.flightDtoList().stream().map(FlightDto::id).toList());
+        verify(mockFlightRepository, times(2)).searchFlights(any(FlightSearchCriteria.class));
+    }
+}
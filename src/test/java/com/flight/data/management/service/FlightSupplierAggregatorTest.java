@@ -0,0 +1,119 @@
+package com.flight.data.management.service;
+
+import com.flight.data.management.config.FlightSearchMetricsProperties;
+import com.flight.data.management.config.FlightSupplierProperties;
+import com.flight.data.management.config.FlightSupplierProperties.FlightSupplierSettings;
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.service.supplier.FlightSupplier;
+import com.flight.data.management.util.TestDataUtil;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class FlightSupplierAggregatorTest {
+
+    private static final String ROUTE_CLASS = "AMS-MAA";
+
+    @Mock
+    private FlightSupplier mockSlowSupplier;
+
+    @Mock
+    private FlightSupplier mockFastSupplier;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(mockSlowSupplier.id()).thenReturn("slow-supplier");
+        when(mockSlowSupplier.name()).thenReturn("Slow Supplier");
+        when(mockFastSupplier.id()).thenReturn("fast-supplier");
+        when(mockFastSupplier.name()).thenReturn("Fast Supplier");
+    }
+
+    private FlightSupplierAggregator createAggregator(final Map<String, FlightSupplierSettings> settings) {
+        return new FlightSupplierAggregator(List.of(mockSlowSupplier, mockFastSupplier), new FlightSupplierProperties(settings),
+                TestDataUtil.getFlightSearchProperties(), BulkheadRegistry.ofDefaults(),
+                new FlightSearchMetrics(meterRegistry, new FlightSearchMetricsProperties(List.of(ROUTE_CLASS))));
+    }
+
+    @Test
+    void testSearchFlights_CallAllSuppliersAtOnce_InSupplierOrder() {
+        when(mockSlowSupplier.searchFlights(any())).thenReturn(new CompletableFuture<>());
+        when(mockFastSupplier.searchFlights(any())).thenReturn(CompletableFuture.completedFuture(List.of(getSupplierFlight())));
+
+        Map<String, CompletableFuture<List<FlightDto>>> result = createAggregator(Map.of())
+                .searchFlights(TestDataUtil.getFlightSearchDto(), ROUTE_CLASS);
+
+        assertEquals(List.of("Slow Supplier", "Fast Supplier"), List.copyOf(result.keySet()));
+        assertFalse(result.get("Slow Supplier").isDone());
+        assertEquals(1, result.get("Fast Supplier").join().size());
+        assertEquals(1, meterRegistry.get("flight.search.supplier.calls").tag("supplier", "Fast Supplier")
+                .tag("outcome", "success").tag("route", ROUTE_CLASS).counter().count());
+    }
+
+    @Test
+    void testSearchFlights_SkipDisabledSupplier() {
+        when(mockFastSupplier.searchFlights(any())).thenReturn(CompletableFuture.completedFuture(List.of(getSupplierFlight())));
+
+        Map<String, CompletableFuture<List<FlightDto>>> result = createAggregator(
+                Map.of("slow-supplier", new FlightSupplierSettings(false, null, 100)))
+                .searchFlights(TestDataUtil.getFlightSearchDto(), ROUTE_CLASS);
+
+        assertEquals(List.of("Fast Supplier"), List.copyOf(result.keySet()));
+        verify(mockSlowSupplier, times(0)).searchFlights(any());
+    }
+
+    @Test
+    void testSearchFlights_TimeOutOnlySlowSupplier_WithItsOwnDeadline() {
+        when(mockSlowSupplier.searchFlights(any())).thenReturn(new CompletableFuture<>());
+        when(mockFastSupplier.searchFlights(any())).thenReturn(CompletableFuture.completedFuture(List.of(getSupplierFlight())));
+
+        Map<String, CompletableFuture<List<FlightDto>>> result = createAggregator(
+                Map.of("slow-supplier", new FlightSupplierSettings(true, Duration.ofMillis(100), 100)))
+                .searchFlights(TestDataUtil.getFlightSearchDto(), ROUTE_CLASS);
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> result.get("Slow Supplier").join());
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals(1, result.get("Fast Supplier").join().size());
+        assertEquals(1, meterRegistry.get("flight.search.supplier.calls").tag("supplier", "Slow Supplier")
+                .tag("outcome", "timeout").counter().count());
+    }
+
+    @Test
+    void testSearchFlights_RejectSupplierCall_WhenCallsInFlightExceedLimit() {
+        //Supplier never answers, the only permitted call stays in flight
+        when(mockSlowSupplier.searchFlights(any())).thenReturn(new CompletableFuture<>());
+        when(mockFastSupplier.searchFlights(any())).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        FlightSupplierAggregator aggregator = createAggregator(
+                Map.of("slow-supplier", new FlightSupplierSettings(true, Duration.ofSeconds(5), 1)));
+        aggregator.searchFlights(TestDataUtil.getFlightSearchDto(), ROUTE_CLASS);
+        Map<String, CompletableFuture<List<FlightDto>>> result = aggregator.searchFlights(TestDataUtil.getFlightSearchDto(), ROUTE_CLASS);
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> result.get("Slow Supplier").join());
+        assertInstanceOf(BulkheadFullException.class, exception.getCause());
+        verify(mockSlowSupplier, times(1)).searchFlights(any());
+        verify(mockFastSupplier, times(2)).searchFlights(any());
+    }
+
+    private static FlightDto getSupplierFlight() {
+        return FlightDto.builder().airline("Transavia").supplier("Fast Supplier").departureAirport("AMS").destinationAirport("MAA").build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.flight.data.management.service.client;
+
+import com.flight.data.management.model.FlightDto;
+import com.flight.data.management.util.TestDataUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class CrazySupplierFlightSupplierTest {
+
+    private CrazySupplierFlightSupplier classUnderTest;
+
+    @Mock
+    private CrazySupplierSearchCache mockCrazySupplierSearchCache;
+
+    @BeforeEach
+    void setUp() {
+        classUnderTest = new CrazySupplierFlightSupplier(mockCrazySupplierSearchCache);
+    }
+
+    @Test
+    void testSearchFlights_SendSearchTimesInCET_AndReturnFlightsInUTC() {
+        CrazySupplierFlightResponse crazySupplierFlight = CrazySupplierFlightResponse.builder()
+                .carrier("Transavia")
+                .departureAirportName("AMS")
+                .arrivalAirportName("MAA")
+                .basePrice(new BigDecimal("150.00"))
+                .tax(new BigDecimal("50.50"))
+                .outboundDateTime("2025-04-07T18:07:09.3714066+02:00[CET]")
+                .inboundDateTime("2025-04-08T03:07:09.3714066+02:00[CET]")
+                .build();
+        when(mockCrazySupplierSearchCache.searchCrazySupplierFlightsAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(crazySupplierFlight)));
+
+        List<FlightDto> result = classUnderTest.searchFlights(TestDataUtil.getFlightSearchDto()).join();
+
+        ArgumentCaptor<CrazySupplierFlightRequest> request = ArgumentCaptor.forClass(CrazySupplierFlightRequest.class);
+        verify(mockCrazySupplierSearchCache).searchCrazySupplierFlightsAsync(request.capture());
+        assertEquals("AMS", request.getValue().departureAirportName());
+        assertEquals("MAA", request.getValue().arrivalAirportName());
+        assertEquals(ZoneId.of("CET"), request.getValue().outboundDateTime().getZone());
+        assertEquals(18, request.getValue().outboundDateTime().getHour());
+
+        FlightDto flight = result.get(0);
+        assertEquals("Crazy Supplier", flight.supplier());
+        assertEquals(new BigDecimal("200.50"), flight.fare());
+        assertEquals("2025-04-07T16:07:09.3714066Z[UTC]", flight.departureTime());
+        assertEquals("2025-04-08T01:07:09.3714066Z[UTC]", flight.arrivalTime());
+    }
+}
@@ -0,0 +1,181 @@
+package com.flight.data.management.service.client;
+
+import com.flight.data.management.exception.CrazySupplierException;
+import com.flight.data.management.util.TestDataUtil;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class CrazySupplierGatewayTest {
+
+    private CrazySupplierGateway classUnderTest;
+
+    @Mock
+    private CrazySupplierClient mockCrazySupplierClient;
+
+    @Mock
+    private CrazySupplierHttpClient mockCrazySupplierHttpClient;
+
+    @BeforeEach
+    void setUp() {
+        classUnderTest = TestDataUtil.getCrazySupplierGateway(mockCrazySupplierClient, Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        classUnderTest.shutdown();
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_ReturnFlights() {
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        List<CrazySupplierFlightResponse> result = classUnderTest.searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join();
+
+        assertEquals(1, result.size());
+        verify(mockCrazySupplierClient, times(1)).searchCrazySupplierFlights(any());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_Throws_CrazySupplierException_WithoutRetry() {
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenReturn(ResponseEntity.internalServerError().build());
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> classUnderTest.searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join());
+
+        assertInstanceOf(CrazySupplierException.class, exception.getCause());
+        verify(mockCrazySupplierClient, times(1)).searchCrazySupplierFlights(any());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_Throws_CrazySupplierException_WhenSupplierRespondsNotFound() {
+        Request request = Request.create(Request.HttpMethod.POST, "/flights", Map.of(), null, StandardCharsets.UTF_8, null);
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenThrow(new FeignException.NotFound("Not Found", request, null, null));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> classUnderTest.searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join());
+
+        assertInstanceOf(CrazySupplierException.class, exception.getCause());
+        assertEquals("Crazy supplier service responded with status: 404", exception.getCause().getMessage());
+        verify(mockCrazySupplierClient, times(1)).searchCrazySupplierFlights(any());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_RetryOnce_WhenConnectionFailed() {
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenThrow(RetryableException.class)
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        List<CrazySupplierFlightResponse> result = classUnderTest.searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join();
+
+        assertEquals(1, result.size());
+        verify(mockCrazySupplierClient, times(2)).searchCrazySupplierFlights(any());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_Throws_TimeoutException_WhenSupplierIsSlow() {
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse());
+        });
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> classUnderTest.searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join());
+
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_Throws_CallNotPermittedException_WhenBreakerIsOpen() {
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenReturn(ResponseEntity.internalServerError().build());
+
+        CrazySupplierFlightRequest request = TestDataUtil.getCrazySupplierFlightRequest();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(CompletionException.class, () -> classUnderTest.searchCrazySupplierFlights(request).join());
+        }
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> classUnderTest.searchCrazySupplierFlights(request).join());
+
+        assertInstanceOf(CallNotPermittedException.class, exception.getCause());
+        verify(mockCrazySupplierClient, times(4)).searchCrazySupplierFlights(any());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_ReturnFlights_WithAsyncClient() {
+        CrazySupplierGateway asyncGateway = TestDataUtil.getAsyncCrazySupplierGateway(mockCrazySupplierHttpClient, Duration.ofMillis(500));
+        try {
+            when(mockCrazySupplierHttpClient.searchCrazySupplierFlights(any()))
+                    .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse())));
+
+            List<CrazySupplierFlightResponse> result = asyncGateway.searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join();
+
+            assertEquals(1, result.size());
+            verify(mockCrazySupplierClient, times(0)).searchCrazySupplierFlights(any());
+        } finally {
+            asyncGateway.shutdown();
+        }
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_Throws_BulkheadFullException_WhenAsyncCallsInFlightExceedLimit() {
+        CrazySupplierGateway asyncGateway = TestDataUtil.getAsyncCrazySupplierGateway(mockCrazySupplierHttpClient, Duration.ofSeconds(5));
+        try {
+            //Supplier never answers, both permitted calls stay in flight
+            when(mockCrazySupplierHttpClient.searchCrazySupplierFlights(any())).thenReturn(new CompletableFuture<>());
+
+            CrazySupplierFlightRequest request = TestDataUtil.getCrazySupplierFlightRequest();
+            asyncGateway.searchCrazySupplierFlights(request);
+            asyncGateway.searchCrazySupplierFlights(request);
+            CompletionException exception = assertThrows(CompletionException.class,
+                    () -> asyncGateway.searchCrazySupplierFlights(request).join());
+
+            assertInstanceOf(BulkheadFullException.class, exception.getCause());
+            verify(mockCrazySupplierHttpClient, times(2)).searchCrazySupplierFlights(any());
+        } finally {
+            asyncGateway.shutdown();
+        }
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_RunFeignCallOnVirtualThread_InVirtualThreadMode() {
+        CrazySupplierGateway virtualThreadGateway = TestDataUtil.getVirtualThreadCrazySupplierGateway(mockCrazySupplierClient, Duration.ofMillis(500));
+        try {
+            AtomicBoolean virtualThread = new AtomicBoolean();
+            when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenAnswer(invocation -> {
+                virtualThread.set(Thread.currentThread().isVirtual());
+                return ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse());
+            });
+
+            List<CrazySupplierFlightResponse> result = virtualThreadGateway.searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join();
+
+            assertEquals(1, result.size());
+            assertTrue(virtualThread.get());
+        } finally {
+            virtualThreadGateway.shutdown();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.flight.data.management.service.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.management.util.TestDataUtil;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrazySupplierHttpClientTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private WireMockServer wireMockServer;
+
+    private CrazySupplierHttpClient classUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        wireMockServer.start();
+        classUnderTest = new CrazySupplierHttpClient(wireMockServer.baseUrl(), TestDataUtil.getCrazySupplierClientProperties(true),
+                objectMapper, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        classUnderTest.shutdown();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_SendRequestAsJson_AndReadFlights() throws Exception {
+        CrazySupplierFlightRequest request = TestDataUtil.getCrazySupplierFlightRequest();
+        List<CrazySupplierFlightResponse> flights = TestDataUtil.getCrazySupplierSearchResponse();
+        wireMockServer.stubFor(post(urlEqualTo("/flights"))
+                .withHeader(HttpHeaders.CONTENT_TYPE, equalTo(MediaType.APPLICATION_JSON_VALUE))
+                .withRequestBody(equalToJson(objectMapper.writeValueAsString(request)))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsBytes(flights))));
+
+        ResponseEntity<List<CrazySupplierFlightResponse>> response = classUnderTest.searchCrazySupplierFlights(request).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(flights, response.getBody());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_ReturnStatusWithoutBody_WhenSupplierFails() {
+        wireMockServer.stubFor(post(urlEqualTo("/flights"))
+                .willReturn(aResponse().withStatus(HttpStatus.INTERNAL_SERVER_ERROR.value()).withBody("Internal error")));
+
+        ResponseEntity<List<CrazySupplierFlightResponse>> response = classUnderTest
+                .searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_Throws_HttpTimeoutException_WhenSupplierIsSlow() {
+        wireMockServer.stubFor(post(urlEqualTo("/flights"))
+                .willReturn(aResponse().withStatus(HttpStatus.OK.value()).withFixedDelay(3000).withBody("[]")));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> classUnderTest.searchCrazySupplierFlights(TestDataUtil.getCrazySupplierFlightRequest()).join());
+
+        assertInstanceOf(HttpTimeoutException.class, exception.getCause());
+    }
+}
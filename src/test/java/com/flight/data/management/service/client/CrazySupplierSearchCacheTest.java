@@ -0,0 +1,128 @@
+package com.flight.data.management.service.client;
+
+import com.flight.data.management.exception.CrazySupplierException;
+import com.flight.data.management.util.TestDataUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class CrazySupplierSearchCacheTest {
+
+    private CrazySupplierSearchCache classUnderTest;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CrazySupplierGateway crazySupplierGateway;
+
+    @Mock
+    private CrazySupplierClient mockCrazySupplierClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        crazySupplierGateway = TestDataUtil.getCrazySupplierGateway(mockCrazySupplierClient, Duration.ofSeconds(2));
+        classUnderTest = new CrazySupplierSearchCache(crazySupplierGateway,
+                TestDataUtil.getCrazySupplierCacheProperties(true), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        crazySupplierGateway.shutdown();
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_ReturnCachedResult_ForIdenticalRequest() {
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        CrazySupplierFlightRequest request = TestDataUtil.getCrazySupplierFlightRequest();
+        List<CrazySupplierFlightResponse> first = classUnderTest.searchCrazySupplierFlights(request);
+        List<CrazySupplierFlightResponse> second = classUnderTest.searchCrazySupplierFlights(request);
+
+        assertEquals(1, first.size());
+        assertSame(first, second);
+        verify(mockCrazySupplierClient, times(1)).searchCrazySupplierFlights(any());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "crazy-supplier-search").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_SendRequestAsIs_AndCacheItUnderNormalizedKey() {
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        CrazySupplierFlightRequest request = TestDataUtil.getCrazySupplierFlightRequest();
+        CrazySupplierFlightRequest lowerCaseRequest = CrazySupplierFlightRequest.builder()
+                .departureAirportName("ams")
+                .arrivalAirportName("bcn")
+                .outboundDateTime(request.outboundDateTime())
+                .inboundDateTime(request.inboundDateTime())
+                .build();
+        classUnderTest.searchCrazySupplierFlights(lowerCaseRequest);
+        classUnderTest.searchCrazySupplierFlights(request);
+
+        ArgumentCaptor<CrazySupplierFlightRequest> sentRequest = ArgumentCaptor.forClass(CrazySupplierFlightRequest.class);
+        verify(mockCrazySupplierClient, times(1)).searchCrazySupplierFlights(sentRequest.capture());
+        assertSame(lowerCaseRequest, sentRequest.getValue());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_ShareInFlightCall_ForConcurrentIdenticalRequests() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any())).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await();
+            return ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse());
+        });
+
+        CrazySupplierFlightRequest request = TestDataUtil.getCrazySupplierFlightRequest();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<List<CrazySupplierFlightResponse>>> searches = new ArrayList<>();
+            searches.add(CompletableFuture.supplyAsync(() -> classUnderTest.searchCrazySupplierFlights(request), executor));
+            callStarted.await();
+            for (int i = 0; i < 3; i++) {
+                searches.add(CompletableFuture.supplyAsync(() -> classUnderTest.searchCrazySupplierFlights(request), executor));
+            }
+            releaseCall.countDown();
+
+            for (CompletableFuture<List<CrazySupplierFlightResponse>> search : searches) {
+                assertEquals(1, search.join().size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(mockCrazySupplierClient, times(1)).searchCrazySupplierFlights(any());
+    }
+
+    @Test
+    void testSearchCrazySupplierFlights_DoNotCacheFailedCall() {
+        when(mockCrazySupplierClient.searchCrazySupplierFlights(any()))
+                .thenReturn(ResponseEntity.internalServerError().build())
+                .thenReturn(ResponseEntity.ok(TestDataUtil.getCrazySupplierSearchResponse()));
+
+        CrazySupplierFlightRequest request = TestDataUtil.getCrazySupplierFlightRequest();
+        assertThrows(CrazySupplierException.class, () -> classUnderTest.searchCrazySupplierFlights(request));
+        assertEquals(1, classUnderTest.searchCrazySupplierFlights(request).size());
+
+        verify(mockCrazySupplierClient, times(2)).searchCrazySupplierFlights(any());
+    }
+}
@@ -0,0 +1,170 @@
+package com.flight.data.management.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.management.config.FlightBulkProperties;
+import com.flight.data.management.config.FlightImportProperties;
+import com.flight.data.management.config.FlightRouteIndexProperties;
+import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.repository.FlightRepository;
+import com.flight.data.management.service.FlightBulkService;
+import com.flight.data.management.service.FlightChangeTracker;
+import com.flight.data.management.service.FlightRouteIndex;
+import com.flight.data.management.util.TestDataUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class FlightImportServiceTest {
+
+    private static final String DEPARTURE = "2026-11-01T08:00:00.5Z[UTC]";
+
+    private static final String ARRIVAL = "2026-11-01T16:00:00.5Z[UTC]";
+
+    private FlightImportService classUnderTest;
+
+    private List<Flight> savedFlights;
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private FlightRepository mockFlightRepository;
+
+    @Mock
+    private EntityManager mockEntityManager;
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    @BeforeEach
+    void setUp() {
+        savedFlights = new ArrayList<>();
+        when(mockFlightRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            savedFlights.addAll(flights);
+            return flights;
+        });
+        classUnderTest = createFlightImportService(2);
+    }
+
+    @Test
+    void testImportFile_ImportValidCsvRows_InFileOrder() throws Exception {
+        Path file = writeCsvFile();
+
+        FlightImportResult result = classUnderTest.importFile(file);
+
+        assertEquals(4, result.importedRows());
+        assertEquals(1, result.rejectedRows());
+        assertEquals(0, result.skippedChunks());
+        verify(mockFlightRepository, times(3)).saveAll(anyList());
+        assertEquals(List.of("KLM", "Air France, Inc", "EasyJet", "Lufthansa"), savedFlights.stream().map(Flight::getAirline).toList());
+        assertEquals("AMS", savedFlights.get(0).getDepartureAirport());
+        assertEquals(new BigDecimal("120.46"), savedFlights.get(0).getFare());
+
+        FlightImportCheckpoint checkpoint = FlightImportCheckpoint.read(tempDir.resolve("flights.csv.checkpoint")).orElseThrow();
+        assertEquals(2, checkpoint.lastCommittedChunk());
+        assertEquals(4, checkpoint.importedRows());
+    }
+
+    @Test
+    void testImportFile_ResumeAfterLastCommittedChunk() throws Exception {
+        Path file = writeCsvFile();
+        new FlightImportCheckpoint(Files.size(file), 2, 0, 2, 0).write(tempDir.resolve("flights.csv.checkpoint"));
+
+        FlightImportResult result = classUnderTest.importFile(file);
+
+        assertEquals(2, result.importedRows());
+        assertEquals(1, result.rejectedRows());
+        assertEquals(1, result.skippedChunks());
+        assertEquals(List.of("EasyJet", "Lufthansa"), savedFlights.stream().map(Flight::getAirline).toList());
+    }
+
+    @Test
+    void testImportFile_KeepCheckpointOfLastCommittedChunk_WhenWriteFails() throws Exception {
+        Path file = writeCsvFile();
+        when(mockFlightRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new IllegalStateException("Database error"));
+
+        assertThrows(IllegalStateException.class, () -> classUnderTest.importFile(file));
+
+        FlightImportCheckpoint checkpoint = FlightImportCheckpoint.read(tempDir.resolve("flights.csv.checkpoint")).orElseThrow();
+        assertEquals(0, checkpoint.lastCommittedChunk());
+    }
+
+    @Test
+    void testImportFile_RefuseCheckpoint_WhenChunkSizeDiffers() throws Exception {
+        Path file = writeCsvFile();
+        new FlightImportCheckpoint(Files.size(file), 3, 0, 3, 0).write(tempDir.resolve("flights.csv.checkpoint"));
+
+        assertThrows(IllegalStateException.class, () -> classUnderTest.importFile(file));
+        verify(mockFlightRepository, times(0)).saveAll(anyList());
+    }
+
+    @Test
+    void testImportFile_ImportValidNdjsonLines() throws Exception {
+        Path file = tempDir.resolve("flights.ndjson");
+        Files.write(file, List.of(
+                ndjsonLine("KLM", "ams", "maa"),
+                "{\"airline\":",
+                "",
+                ndjsonLine("EasyJet", "ams", "fco")));
+
+        FlightImportResult result = createFlightImportService(3).importFile(file);
+
+        assertEquals(2, result.importedRows());
+        assertEquals(1, result.rejectedRows());
+        assertEquals(List.of("MAA", "FCO"), savedFlights.stream().map(Flight::getDestinationAirport).toList());
+    }
+
+    @Test
+    void testSplitCsvLine_SplitQuotedFields() {
+        assertEquals(List.of("Air France, Inc", "say \"hi\"", "", "AMS"),
+                FlightImportService.splitCsvLine("\"Air France, Inc\",\"say \"\"hi\"\"\",, AMS"));
+    }
+
+    private FlightImportService createFlightImportService(final int chunkSize) {
+        FlightRouteIndex flightRouteIndex = new FlightRouteIndex(mockFlightRepository, mockTransactionManager,
+                new FlightRouteIndexProperties(false, false));
+        FlightBulkService flightBulkService = new FlightBulkService(mockFlightRepository, mockEntityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), mockTransactionManager, flightRouteIndex,
+                new FlightBulkProperties(500, 10000), new FlightChangeTracker(TestDataUtil.getFlightETagProperties()));
+        return new FlightImportService(flightBulkService, new ObjectMapper(),
+                new FlightImportProperties(null, null, null, chunkSize, 2, 2, Duration.ZERO));
+    }
+
+    private Path writeCsvFile() throws Exception {
+        Path file = tempDir.resolve("flights.csv");
+        Files.write(file, List.of(
+                "airline,supplier,fare,departureAirport,destinationAirport,departureTime,arrivalTime",
+                "KLM,supplier1,120.456,ams,maa," + DEPARTURE + "," + ARRIVAL,
+                "\"Air France, Inc\",supplier2,99,cdg,maa," + DEPARTURE + "," + ARRIVAL,
+                "EasyJet,supplier3,-5,ams,fco," + DEPARTURE + "," + ARRIVAL,
+                "EasyJet,supplier3,80,ams,fco," + DEPARTURE + "," + ARRIVAL,
+                "Lufthansa,supplier4,150,fra,jfk," + DEPARTURE + "," + ARRIVAL));
+        return file;
+    }
+
+    private static String ndjsonLine(final String airline, final String departureAirport, final String destinationAirport) {
+        return "{\"airline\":\"" + airline + "\",\"supplier\":\"supplier1\",\"fare\":100,\"departureAirport\":\"" + departureAirport +
+                "\",\"destinationAirport\":\"" + destinationAirport + "\",\"departureTime\":\"" + DEPARTURE +
+                "\",\"arrivalTime\":\"" + ARRIVAL + "\"}";
+    }
+}
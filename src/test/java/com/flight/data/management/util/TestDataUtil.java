@@ -1,11 +1,36 @@
 package com.flight.data.management.util;
 
+import com.flight.data.management.config.CrazySupplierCacheProperties;
+import com.flight.data.management.config.CrazySupplierClientProperties;
+import com.flight.data.management.config.FlightPageProperties;
+import com.flight.data.management.config.FlightETagProperties;
+import com.flight.data.management.config.FlightSearchProperties;
 import com.flight.data.management.model.FlightDto;
 import com.flight.data.management.model.FlightSearchDto;
 import com.flight.data.management.model.entity.Flight;
+import com.flight.data.management.model.projection.FlightProjection;
+import com.flight.data.management.service.client.CrazySupplierClient;
+import com.flight.data.management.service.client.CrazySupplierFlightRequest;
 import com.flight.data.management.service.client.CrazySupplierFlightResponse;
+import com.flight.data.management.service.client.CrazySupplierGateway;
+import com.flight.data.management.service.client.CrazySupplierHttpClient;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -17,7 +42,7 @@ public class TestDataUtil {
     public static final String UTC_DATE_PATTERN = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{1,9}Z\\[UTC]$";
 
     public static List<Flight> getFlights() {
-        ZonedDateTime utcNow = ZonedDateTime.now(ZoneId.of("UTC"));
+        Instant utcNow = Instant.now();
         List<Flight> flights = new ArrayList<>();
         flights.add(Flight.builder()
                 .id(1L)
@@ -26,8 +51,9 @@ public class TestDataUtil {
                 .departureAirport("AMS")
                 .destinationAirport("MAA")
                 .fare(new BigDecimal(1200))
-                .departureTime(utcNow.plusHours(1))
-                .arrivalTime(utcNow.plusHours(10))
+                .departureTime(utcNow.plus(Duration.ofHours(1)))
+                .arrivalTime(utcNow.plus(Duration.ofHours(10)))
+                .version(0L)
                 .build());
         flights.add(Flight.builder()
                 .id(2L)
@@ -36,12 +62,19 @@ public class TestDataUtil {
                 .departureAirport("CDG")
                 .destinationAirport("MAA")
                 .fare(new BigDecimal(1300))
-                .departureTime(utcNow.plusHours(2))
-                .arrivalTime(utcNow.plusHours(12))
+                .departureTime(utcNow.plus(Duration.ofHours(2)))
+                .arrivalTime(utcNow.plus(Duration.ofHours(12)))
+                .version(0L)
                 .build());
         return flights;
     }
 
+    public static List<FlightProjection> getFlightProjections() {
+        return getFlights().stream().map(flight -> new FlightProjection(flight.getId(), flight.getAirline(), flight.getSupplier(),
+                flight.getFare(), flight.getDepartureAirport(), flight.getDestinationAirport(),
+                flight.getDepartureTime(), flight.getArrivalTime(), flight.getVersion())).toList();
+    }
+
     public static List<FlightDto> getFlightDtoList() {
         return getFlights().stream().map(TestDataUtil::getFlightDto).toList();
     }
@@ -61,9 +94,14 @@ public class TestDataUtil {
     }
 
     public static FlightDto getFlightDtoForUpdate(final long id) {
+        return getFlightDtoForUpdate(id, null);
+    }
+
+    public static FlightDto getFlightDtoForUpdate(final long id, final Long version) {
         ZonedDateTime utcNow = ZonedDateTime.now(ZoneId.of("UTC"));
         return FlightDto.builder()
                 .id(id)
+                .version(version)
                 .airline("KLM")
                 .supplier("New Supplier")
                 .departureAirport("AMS")
@@ -98,6 +136,65 @@ public class TestDataUtil {
                 .build();
     }
 
+    public static FlightETagProperties getFlightETagProperties() {
+        return new FlightETagProperties(true, Duration.ofSeconds(30));
+    }
+
+    public static FlightSearchProperties getFlightSearchProperties() {
+        return new FlightSearchProperties(true, Duration.ofSeconds(2), Duration.ofSeconds(3), 2, 10, Duration.ofSeconds(10));
+    }
+
+    public static FlightPageProperties getFlightPageProperties() {
+        return new FlightPageProperties(100, 1000);
+    }
+
+    public static CrazySupplierCacheProperties getCrazySupplierCacheProperties(final boolean enabled) {
+        return new CrazySupplierCacheProperties(enabled, 100, Duration.ofMinutes(1));
+    }
+
+    public static CrazySupplierGateway getCrazySupplierGateway(final CrazySupplierClient crazySupplierClient, final Duration timeout) {
+        return getCrazySupplierGateway(crazySupplierClient, null, false, new MockEnvironment(), timeout);
+    }
+
+    public static CrazySupplierGateway getVirtualThreadCrazySupplierGateway(final CrazySupplierClient crazySupplierClient, final Duration timeout) {
+        return getCrazySupplierGateway(crazySupplierClient, null, false, getVirtualThreadEnvironment(), timeout);
+    }
+
+    public static CrazySupplierGateway getAsyncCrazySupplierGateway(final CrazySupplierHttpClient crazySupplierHttpClient, final Duration timeout) {
+        return getCrazySupplierGateway(null, crazySupplierHttpClient, true, new MockEnvironment(), timeout);
+    }
+
+    public static MockEnvironment getVirtualThreadEnvironment() {
+        return new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+    }
+
+    private static CrazySupplierGateway getCrazySupplierGateway(final CrazySupplierClient crazySupplierClient,
+                                                                final CrazySupplierHttpClient crazySupplierHttpClient,
+                                                                final boolean async, final Environment environment,
+                                                                final Duration timeout) {
+        return new CrazySupplierGateway(crazySupplierClient, crazySupplierHttpClient, getCrazySupplierClientProperties(async),
+                CircuitBreakerRegistry.of(CircuitBreakerConfig.custom().slidingWindowSize(4).minimumNumberOfCalls(4).build()),
+                ThreadPoolBulkheadRegistry.of(ThreadPoolBulkheadConfig.custom().maxThreadPoolSize(2).coreThreadPoolSize(2).queueCapacity(10).build()),
+                BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(2).maxWaitDuration(Duration.ZERO).build()),
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(timeout).build()),
+                RetryRegistry.of(RetryConfig.custom().maxAttempts(2).waitDuration(Duration.ofMillis(10)).retryExceptions(RetryableException.class).build()),
+                environment);
+    }
+
+    public static CrazySupplierClientProperties getCrazySupplierClientProperties(final boolean async) {
+        return new CrazySupplierClientProperties(async, Duration.ofSeconds(1), Duration.ofSeconds(2), 2);
+    }
+
+    public static CrazySupplierFlightRequest getCrazySupplierFlightRequest() {
+        ZonedDateTime cetNow = ZonedDateTime.now(ZoneId.of("CET"));
+        return CrazySupplierFlightRequest.builder()
+                .departureAirportName("AMS")
+                .arrivalAirportName("BCN")
+                .outboundDateTime(cetNow.plusHours(1))
+                .inboundDateTime(cetNow.plusHours(10))
+                .build();
+    }
+
     public static List<CrazySupplierFlightResponse> getCrazySupplierSearchResponse() {
         ZonedDateTime cetNow = ZonedDateTime.now(ZoneId.of("CET"));
         return List.of(CrazySupplierFlightResponse.builder()
@@ -119,8 +216,8 @@ public class TestDataUtil {
                 .fare(flight.getFare())
                 .departureAirport(flight.getDepartureAirport())
                 .destinationAirport(flight.getDestinationAirport())
-                .departureTime(flight.getDepartureTime().format(DateTimeFormatter.ISO_DATE_TIME))
-                .arrivalTime(flight.getArrivalTime().format(DateTimeFormatter.ISO_DATE_TIME))
+                .departureTime(DateTimeFormatter.ISO_DATE_TIME.format(flight.getDepartureTime().atZone(ZoneId.of("UTC"))))
+                .arrivalTime(DateTimeFormatter.ISO_DATE_TIME.format(flight.getArrivalTime().atZone(ZoneId.of("UTC"))))
                 .build();
     }
 }
@@ -0,0 +1,73 @@
+package com.flight.data.management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtcDateTimeCodecTest {
+
+    @Test
+    void testFormat_MatchIsoDateTimeFormatter() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            //Whole seconds, millis, micros and nanos, between 1900 and 2100
+            int nano = switch (i % 4) {
+                case 0 -> 0;
+                case 1 -> random.nextInt(1000) * 1_000_000;
+                case 2 -> random.nextInt(1_000_000) * 1000;
+                default -> random.nextInt(1_000_000_000);
+            };
+            Instant instant = Instant.ofEpochSecond(-2_208_988_800L + (long) (random.nextDouble() * 6_311_390_400L), nano);
+
+            assertEquals(DateTimeFormatter.ISO_DATE_TIME.format(ZonedDateTime.ofInstant(instant, ZoneId.of("UTC"))),
+                    UtcDateTimeCodec.format(instant));
+        }
+    }
+
+    @Test
+    void testFormat_FallBackToFormatter_ForYearsOutsideApiFormat() {
+        Instant instant = Instant.parse("+12025-04-07T16:07:09.371Z");
+
+        assertEquals("+12025-04-07T16:07:09.371Z[UTC]", UtcDateTimeCodec.format(instant));
+    }
+
+    @Test
+    void testParse_ReturnSameInstantAsZonedDateTimeParse() {
+        for (String utcDateTime : List.of("2025-04-07T16:07:09.3714066Z[UTC]", "2024-02-29T23:59:59.999999999Z[UTC]",
+                "1970-01-01T00:00:00.0Z[UTC]", "1969-12-31T23:59:59.5Z[UTC]")) {
+            assertTrue(UtcDateTimeCodec.isValid(utcDateTime));
+            assertEquals(ZonedDateTime.parse(utcDateTime).toInstant(), UtcDateTimeCodec.parse(utcDateTime));
+            assertEquals(ZonedDateTime.parse(utcDateTime), UtcDateTimeCodec.parseToUtc(utcDateTime));
+        }
+    }
+
+    @Test
+    void testIsValid_RejectMalformedOrOutOfRangeValues() {
+        for (String utcDateTime : List.of("2025-04-07T16:07:09Z[UTC]", "2025-04-07T16:07:09.Z[UTC]",
+                "2025-04-07T16:07:09.1234567890Z[UTC]", "2025-04-07T16:07:09.371Z", "2025-04-07T18:07:09.371+02:00[CET]",
+                "2025-04-07 16:07:09.371Z[UTC]", "2025-4-07T16:07:09.371Z[UTC]", "2025-13-07T16:07:09.371Z[UTC]",
+                "2025-02-29T16:07:09.371Z[UTC]", "2025-04-31T16:07:09.371Z[UTC]", "2025-04-07T24:07:09.371Z[UTC]",
+                "2025-04-07T16:60:09.371Z[UTC]", "2025-04-07T16:07:60.371Z[UTC]", "2025-04-07T16:07:09.371Z[UTC] ", "")) {
+            assertFalse(UtcDateTimeCodec.isValid(utcDateTime), utcDateTime);
+            assertThrows(DateTimeParseException.class, () -> UtcDateTimeCodec.parse(utcDateTime));
+        }
+        assertFalse(UtcDateTimeCodec.isValid(null));
+    }
+
+    @Test
+    void testParseOffsetDateTime_ReturnSameInstantAsZonedDateTimeParse() {
+        for (String dateTime : List.of("2025-04-07T18:07:09.3714066+02:00[CET]", "2025-01-07T17:07:09+01:00[CET]",
+                "2025-04-07T16:07:09.5Z", "2025-04-07T10:37:09.25-05:30", "2025-04-07T18:07+02:00[CET]")) {
+            assertEquals(ZonedDateTime.parse(dateTime).toInstant(), UtcDateTimeCodec.parseOffsetDateTime(dateTime));
+        }
+        assertThrows(DateTimeParseException.class, () -> UtcDateTimeCodec.parseOffsetDateTime("2025-04-07T18:07:09.5+25:00"));
+    }
+}